@@ -0,0 +1,28 @@
+package com.mosiacstore.mosiac.application.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusRequest {
+    @NotEmpty(message = "At least one order ID is required")
+    @Size(max = 500, message = "At most 500 orders can be updated at once")
+    private List<UUID> orderIds;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    // Applied to every updated order, existing notes are kept when empty
+    private String adminNote;
+}
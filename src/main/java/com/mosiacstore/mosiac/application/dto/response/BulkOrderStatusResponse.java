@@ -0,0 +1,33 @@
+package com.mosiacstore.mosiac.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOrderStatusResponse {
+    private String status;
+    private int requested;
+    private int updated;
+    private int failed;
+    private List<OrderStatusResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderStatusResult {
+        private UUID orderId;
+        private String orderNumber;
+        private String previousStatus;
+        private boolean success;
+        private String message;
+    }
+}
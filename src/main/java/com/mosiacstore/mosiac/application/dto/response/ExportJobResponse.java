@@ -0,0 +1,30 @@
+package com.mosiacstore.mosiac.application.dto.response;
+
+import com.mosiacstore.mosiac.domain.order.ExportJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobResponse {
+    private UUID id;
+    private String format;
+    private String statusFilter;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private ExportJobStatus state;
+    private Long totalRows;
+    private Long processedRows;
+    private Double progress;
+    private String fileUrl;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
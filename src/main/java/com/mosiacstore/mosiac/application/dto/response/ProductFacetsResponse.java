@@ -0,0 +1,43 @@
+package com.mosiacstore.mosiac.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsResponse {
+    private List<FacetCount> categories;
+    private List<FacetCount> regions;
+    private List<PriceBandCount> priceBands;
+    private List<FacetCount> featured;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        // Null for products without a category or region
+        private String value;
+        private String label;
+        private long count;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBandCount {
+        // Inclusive lower bound, null for the first band
+        private BigDecimal minPrice;
+        // Exclusive upper bound, null for the last band
+        private BigDecimal maxPrice;
+        private long count;
+    }
+}
@@ -0,0 +1,21 @@
+package com.mosiacstore.mosiac.application.dto.response;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+
+/**
+ * Product listing page with the facet counts of the same filters
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@NoArgsConstructor
+public class ProductPageResponse extends PageResponse<ProductResponse> {
+    private ProductFacetsResponse facets;
+
+    public ProductPageResponse(PageResponse<ProductResponse> page, ProductFacetsResponse facets) {
+        super(page.getContent(), page.getPage(), page.getSize(), page.getTotalElements(),
+                page.getTotalPages(), page.isFirst(), page.isLast());
+        this.facets = facets;
+    }
+}
@@ -23,6 +23,7 @@ public class ProductResponse {
     private BigDecimal price;
     private BigDecimal originalPrice;
     private Integer stockQuantity;
+    private Integer availableQuantity;
     private String sku;
     private Boolean active;
     private Boolean featured;
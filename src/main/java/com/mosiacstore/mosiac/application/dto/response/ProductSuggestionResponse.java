@@ -0,0 +1,23 @@
+package com.mosiacstore.mosiac.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionResponse {
+    private UUID id;
+    private String name;
+    private String slug;
+    private String sku;
+    private BigDecimal price;
+    private String categoryName;
+    private String regionName;
+}
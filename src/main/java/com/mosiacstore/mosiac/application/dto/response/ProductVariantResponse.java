@@ -19,6 +19,7 @@ public class ProductVariantResponse {
     private String color;
     private BigDecimal priceAdjustment;
     private Integer stockQuantity;
+    private Integer availableQuantity;
     private String skuVariant;
     private Boolean active;
 }
\ No newline at end of file
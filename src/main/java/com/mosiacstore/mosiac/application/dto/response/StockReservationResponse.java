@@ -0,0 +1,18 @@
+package com.mosiacstore.mosiac.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationResponse {
+    private int reservedLines;
+    private int reservedQuantity;
+    private LocalDateTime expiresAt;
+}
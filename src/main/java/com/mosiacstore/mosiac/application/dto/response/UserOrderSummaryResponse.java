@@ -0,0 +1,38 @@
+package com.mosiacstore.mosiac.application.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOrderSummaryResponse {
+    private long orderCount;
+    private Map<String, Long> statusCounts;
+    private BigDecimal totalSpent;
+    private LocalDateTime lastOrderAt;
+    private List<OrderHeader> recentOrders;
+    private LocalDateTime updatedAt;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OrderHeader {
+        private UUID id;
+        private String orderNumber;
+        private String status;
+        private BigDecimal totalAmount;
+        private int itemCount;
+        private LocalDateTime createdAt;
+    }
+}
@@ -33,6 +33,7 @@ public interface ProductMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "viewCount", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "variants", ignore = true)
     @Mapping(target = "images", ignore = true)
     @Mapping(target = "qrCode", ignore = true)
@@ -42,6 +43,7 @@ public interface ProductMapper {
 
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateProductFromRequest(ProductRequest request, @MappingTarget Product product);
 
     // Variant mappings
@@ -54,6 +56,7 @@ public interface ProductMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "product", ignore = true)
+    @Mapping(target = "version", ignore = true)
     @Mapping(target = "size", source = "size", qualifiedByName = "mapSize")
     ProductVariant toProductVariant(ProductVariantRequest request);
 
@@ -88,12 +88,12 @@ public class CartServiceImpl implements CartService {
             variant = null;
         }
 
-        // Check stock
+        // Check stock not held by other checkouts
         Integer stock;
         if (variant != null) {
-            stock = variant.getStockQuantity();
+            stock = variant.getAvailableQuantity();
         } else {
-            stock = product.getStockQuantity();
+            stock = product.getAvailableQuantity();
         }
 
         if (stock != null && stock < request.getQuantity()) {
@@ -180,12 +180,12 @@ public class CartServiceImpl implements CartService {
             throw new InvalidOperationException("Item does not belong to the current cart");
         }
 
-        // Check stock
+        // Check stock not held by other checkouts
         Integer stock;
         if (item.getVariant() != null) {
-            stock = item.getVariant().getStockQuantity();
+            stock = item.getVariant().getAvailableQuantity();
         } else {
-            stock = item.getProduct().getStockQuantity();
+            stock = item.getProduct().getAvailableQuantity();
         }
 
         if (stock != null && stock < quantity) {
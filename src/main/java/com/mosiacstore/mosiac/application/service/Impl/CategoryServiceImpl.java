@@ -10,6 +10,8 @@ import com.mosiacstore.mosiac.application.service.CategoryService;
 import com.mosiacstore.mosiac.application.service.SlugService;
 import com.mosiacstore.mosiac.domain.product.ProductCategory;
 import com.mosiacstore.mosiac.infrastructure.repository.ProductCategoryRepository;
+import com.mosiacstore.mosiac.infrastructure.service.ProductResponseCache;
+import com.mosiacstore.mosiac.infrastructure.service.ProductSuggestIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -29,6 +31,8 @@ public class CategoryServiceImpl implements CategoryService {
     private final ProductCategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
     private final SlugService slugService;
+    private final ProductResponseCache productResponseCache;
+    private final ProductSuggestIndex productSuggestIndex;
 
     @Override
     public PageResponse<CategoryResponse> getCategories(int page, int size, String sort) {
@@ -112,6 +116,9 @@ public class CategoryServiceImpl implements CategoryService {
         }
         cat.setUpdatedAt(LocalDateTime.now());
         ProductCategory updated = categoryRepository.save(cat);
+        // Cached product responses embed the category name and slug, suggestions its name
+        productResponseCache.evictAll();
+        productSuggestIndex.rebuild();
         return categoryMapper.toCategoryResponse(updated);
     }
 
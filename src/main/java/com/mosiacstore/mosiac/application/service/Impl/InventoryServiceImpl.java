@@ -0,0 +1,229 @@
+package com.mosiacstore.mosiac.application.service.Impl;
+
+import com.mosiacstore.mosiac.application.dto.response.StockReservationResponse;
+import com.mosiacstore.mosiac.application.exception.EntityNotFoundException;
+import com.mosiacstore.mosiac.application.exception.InvalidOperationException;
+import com.mosiacstore.mosiac.application.service.InventoryService;
+import com.mosiacstore.mosiac.domain.cart.Cart;
+import com.mosiacstore.mosiac.domain.cart.CartItem;
+import com.mosiacstore.mosiac.domain.order.OrderItem;
+import com.mosiacstore.mosiac.domain.product.Product;
+import com.mosiacstore.mosiac.domain.product.ProductVariant;
+import com.mosiacstore.mosiac.domain.product.StockReservation;
+import com.mosiacstore.mosiac.infrastructure.repository.CartRepository;
+import com.mosiacstore.mosiac.infrastructure.repository.ProductRepository;
+import com.mosiacstore.mosiac.infrastructure.repository.ProductVariantRepository;
+import com.mosiacstore.mosiac.infrastructure.repository.StockReservationRepository;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.ReleasedReservation;
+import com.mosiacstore.mosiac.infrastructure.service.ProductResponseCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryServiceImpl implements InventoryService {
+
+    private final ProductRepository productRepository;
+    private final ProductVariantRepository variantRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final CartRepository cartRepository;
+    private final ProductResponseCache productResponseCache;
+
+    @Value("${inventory.reservation.hold-minutes:10}")
+    private long holdMinutes;
+
+    @Override
+    @Transactional
+    public void decrementStock(Collection<CartItem> items) {
+        StockLines lines = new StockLines();
+        items.forEach(item -> lines.add(item.getProduct(), item.getVariant(), item.getQuantity()));
+
+        List<String> failedLines = lines.apply(variantRepository::decrementStock, productRepository::decrementStock);
+        if (!failedLines.isEmpty()) {
+            log.info("Checkout rejected, not enough stock for {}", failedLines);
+            throw new InvalidOperationException("Not enough stock for: " + String.join("; ", failedLines));
+        }
+        productResponseCache.evict(lines.productIds());
+    }
+
+    @Override
+    @Transactional
+    public void restoreStock(Collection<OrderItem> items) {
+        StockLines lines = new StockLines();
+        items.forEach(item -> lines.add(item.getProduct(), item.getVariant(), item.getQuantity()));
+        lines.apply(variantRepository::incrementStock, productRepository::incrementStock);
+        productResponseCache.evict(lines.productIds());
+    }
+
+    @Override
+    @Transactional
+    public void restoreStockForOrders(Collection<UUID> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        Set<UUID> productIds = new HashSet<>(variantRepository.restoreStockForOrders(orderIds));
+        productIds.addAll(productRepository.restoreStockForOrders(orderIds));
+        productResponseCache.evict(productIds);
+    }
+
+    @Override
+    @Transactional
+    public StockReservationResponse reserveCart(UUID userId) {
+        Cart cart = cartRepository.findByUserId(userId)
+                .orElseThrow(() -> new EntityNotFoundException("Cart not found for user with ID: " + userId));
+
+        if (cart.getItems().isEmpty()) {
+            throw new InvalidOperationException("Cannot reserve stock for an empty cart");
+        }
+
+        // Earlier holds are given back first so a refresh never counts against itself
+        releaseReservations(userId);
+
+        StockLines lines = new StockLines();
+        cart.getItems().forEach(item -> lines.add(item.getProduct(), item.getVariant(), item.getQuantity()));
+
+        List<String> failedLines = lines.apply(variantRepository::reserveStock, productRepository::reserveStock);
+        if (!failedLines.isEmpty()) {
+            throw new InvalidOperationException("Not enough stock for: " + String.join("; ", failedLines));
+        }
+
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(holdMinutes);
+        List<StockReservation> reservations = new ArrayList<>();
+        int reservedQuantity = 0;
+        for (CartItem item : cart.getItems()) {
+            StockReservation reservation = new StockReservation();
+            reservation.setUserId(userId);
+            reservation.setProductId(item.getProduct().getId());
+            reservation.setVariantId(item.getVariant() != null ? item.getVariant().getId() : null);
+            reservation.setQuantity(item.getQuantity());
+            reservation.setExpiresAt(expiresAt);
+            reservations.add(reservation);
+            reservedQuantity += item.getQuantity();
+        }
+        stockReservationRepository.saveAll(reservations);
+        productResponseCache.evict(lines.productIds());
+
+        return StockReservationResponse.builder()
+                .reservedLines(reservations.size())
+                .reservedQuantity(reservedQuantity)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void releaseReservations(UUID userId) {
+        release(stockReservationRepository.deleteByUser(userId));
+    }
+
+    @Override
+    @Transactional
+    public int releaseExpiredReservations() {
+        List<ReleasedReservation> released = stockReservationRepository.deleteExpired(LocalDateTime.now());
+        release(released);
+        return released.size();
+    }
+
+    private void release(List<ReleasedReservation> released) {
+        if (released.isEmpty()) {
+            return;
+        }
+
+        StockLines lines = new StockLines();
+        for (ReleasedReservation reservation : released) {
+            if (reservation.getVariantId() != null) {
+                lines.addVariant(reservation.getVariantId(), reservation.getQuantity(), null);
+            } else {
+                lines.addProduct(reservation.getProductId(), reservation.getQuantity(), null);
+            }
+        }
+        lines.apply(variantRepository::releaseReservedStock, productRepository::releaseReservedStock);
+        productResponseCache.evict(released.stream().map(ReleasedReservation::getProductId).toList());
+    }
+
+    private static String describe(Product product, ProductVariant variant) {
+        if (variant == null) {
+            return product.getName();
+        }
+        return String.format("%s (Size: %s%s)",
+                product.getName(),
+                variant.getSize(),
+                variant.getColor() != null ? ", Color: " + variant.getColor() : "");
+    }
+
+    private interface StockUpdate {
+        int apply(UUID id, int quantity);
+    }
+
+    // Same order as Postgres sorts uuid columns (UUID.compareTo compares signed halves and differs)
+    private static final Comparator<UUID> LOCK_ORDER = Comparator.comparing(UUID::toString);
+
+    /**
+     * Quantities per variant/product. Ids are kept sorted so concurrent
+     * checkouts and set-based restores lock the same rows in the same order
+     */
+    private static class StockLines {
+        private final Map<UUID, Integer> variantQuantities = new TreeMap<>(LOCK_ORDER);
+        private final Map<UUID, Integer> productQuantities = new TreeMap<>(LOCK_ORDER);
+        private final Map<UUID, String> labels = new HashMap<>();
+        // Owning product of every line, for cache eviction
+        private final Set<UUID> productIds = new HashSet<>();
+
+        void add(Product product, ProductVariant variant, int quantity) {
+            if (product != null) {
+                productIds.add(product.getId());
+            }
+            if (variant != null) {
+                addVariant(variant.getId(), quantity, describe(product, variant));
+            } else if (product != null) {
+                addProduct(product.getId(), quantity, describe(product, null));
+            }
+        }
+
+        void addVariant(UUID variantId, int quantity, String label) {
+            variantQuantities.merge(variantId, quantity, Integer::sum);
+            labels.putIfAbsent(variantId, label != null ? label : variantId.toString());
+        }
+
+        void addProduct(UUID productId, int quantity, String label) {
+            productQuantities.merge(productId, quantity, Integer::sum);
+            labels.putIfAbsent(productId, label != null ? label : productId.toString());
+        }
+
+        Set<UUID> productIds() {
+            return productIds;
+        }
+
+        // Runs every update and returns the labels of the lines that matched no row
+        List<String> apply(StockUpdate variantUpdate, StockUpdate productUpdate) {
+            List<String> failedLines = new ArrayList<>();
+            variantQuantities.forEach((variantId, quantity) -> {
+                if (variantUpdate.apply(variantId, quantity) == 0) {
+                    failedLines.add(labels.get(variantId));
+                }
+            });
+            productQuantities.forEach((productId, quantity) -> {
+                if (productUpdate.apply(productId, quantity) == 0) {
+                    failedLines.add(labels.get(productId));
+                }
+            });
+            return failedLines;
+        }
+    }
+}
@@ -2,16 +2,25 @@ package com.mosiacstore.mosiac.application.service.Impl;
 
 import com.mosiacstore.mosiac.application.dto.analytics.*;
 import com.mosiacstore.mosiac.application.service.OrderAnalyticsService;
-import com.mosiacstore.mosiac.domain.order.Order;
-import com.mosiacstore.mosiac.domain.order.OrderItem;
+import com.mosiacstore.mosiac.domain.analytics.OrderDailyStat;
 import com.mosiacstore.mosiac.domain.order.OrderStatus;
 import com.mosiacstore.mosiac.domain.payment.PaymentMethod;
+import com.mosiacstore.mosiac.domain.product.Product;
+import com.mosiacstore.mosiac.domain.product.ProductImage;
+import com.mosiacstore.mosiac.infrastructure.repository.OrderDailyStatRepository;
 import com.mosiacstore.mosiac.infrastructure.repository.OrderItemRepository;
 import com.mosiacstore.mosiac.infrastructure.repository.OrderRepository;
+import com.mosiacstore.mosiac.infrastructure.repository.ProductImageRepository;
+import com.mosiacstore.mosiac.infrastructure.repository.ProductRepository;
 import com.mosiacstore.mosiac.infrastructure.repository.UserRepository;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.OrderDashboardAggregate;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.OrderDimensionAggregate;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.OrderPeriodAggregate;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.ProductSalesAggregate;
+import com.mosiacstore.mosiac.infrastructure.service.AnalyticsResultCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
@@ -19,11 +28,13 @@ import java.math.RoundingMode;
 import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -33,47 +44,65 @@ import java.util.stream.Collectors;
 public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
 
     private final OrderRepository orderRepository;
+    private final OrderDailyStatRepository orderDailyStatRepository;
     private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final ProductImageRepository productImageRepository;
     private final UserRepository userRepository;
+    private final AnalyticsResultCache analyticsResultCache;
+
+    // Orders in these statuses count towards revenue
+    private static final List<OrderStatus> REVENUE_ORDER_STATUSES = List.of(
+            OrderStatus.DELIVERED,
+            OrderStatus.PAID,
+            OrderStatus.PROCESSING,
+            OrderStatus.SHIPPING
+    );
+
+    private static final List<String> REVENUE_STATUSES = List.of(
+            OrderStatus.DELIVERED.name(),
+            OrderStatus.PAID.name(),
+            OrderStatus.PROCESSING.name(),
+            OrderStatus.SHIPPING.name()
+    );
+
+    private static final Set<String> SUPPORTED_PERIODS = Set.of("daily", "weekly", "monthly", "yearly");
+
+    private static final List<String> ALL_STATUSES = Arrays.stream(OrderStatus.values())
+            .map(Enum::name)
+            .collect(Collectors.toList());
 
     @Override
     public RevenueAnalyticsResponse getRevenueAnalytics(String period, LocalDateTime startDate, LocalDateTime endDate) {
+        String resolvedPeriod = resolvePeriod(period);
+        return analyticsResultCache.get("revenue", resolvedPeriod, startDate, endDate,
+                (from, to) -> computeRevenueAnalytics(resolvedPeriod, from, to));
+    }
+
+    private RevenueAnalyticsResponse computeRevenueAnalytics(String period, LocalDateTime startDate, LocalDateTime endDate) {
         // Set default dates if not provided
         LocalDateTime start = startDate != null ? startDate : LocalDate.now().minusMonths(3).atStartOfDay();
         LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+        String resolvedPeriod = resolvePeriod(period);
 
-        // Create specification for date range
-        Specification<Order> spec = Specification.where((root, query, cb) ->
-                cb.between(root.get("createdAt"), start, end));
-
-        // Add filter for only completed orders
-        spec = spec.and((root, query, cb) ->
-                cb.or(
-                        cb.equal(root.get("status"), OrderStatus.DELIVERED),
-                        cb.equal(root.get("status"), OrderStatus.PAID),
-                        cb.equal(root.get("status"), OrderStatus.PROCESSING),
-                        cb.equal(root.get("status"), OrderStatus.SHIPPING)
-                ));
-
-        // Get all orders in range
-        List<Order> orders = orderRepository.findAll(spec);
+        // Aggregate completed orders per period in the database
+        Map<String, PeriodBucket> buckets = aggregateByPeriod(resolvedPeriod, start, end, REVENUE_STATUSES);
 
         // Generate time series data
         List<TimeSeriesDataPoint> timeSeriesData = generateTimeSeriesData(
-                orders,
-                period != null ? period : "daily",
+                buckets,
+                resolvedPeriod,
                 start,
                 end,
-                Order::getTotalAmount
+                (count, amount) -> amount
         );
 
         // Calculate statistics
-        BigDecimal totalRevenue = orders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalOrderCount = sumBucketCounts(buckets);
+        BigDecimal totalRevenue = sumBucketAmounts(buckets);
 
-        BigDecimal averageRevenue = orders.isEmpty() ? BigDecimal.ZERO :
-                totalRevenue.divide(new BigDecimal(orders.size()), 2, RoundingMode.HALF_UP);
+        BigDecimal averageRevenue = totalOrderCount == 0 ? BigDecimal.ZERO :
+                totalRevenue.divide(new BigDecimal(totalOrderCount), 2, RoundingMode.HALF_UP);
 
         BigDecimal minRevenue = timeSeriesData.stream()
                 .map(TimeSeriesDataPoint::getValue)
@@ -100,28 +129,31 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
 
     @Override
     public OrderCountAnalyticsResponse getOrderCountAnalytics(String period, LocalDateTime startDate, LocalDateTime endDate) {
+        String resolvedPeriod = resolvePeriod(period);
+        return analyticsResultCache.get("count", resolvedPeriod, startDate, endDate,
+                (from, to) -> computeOrderCountAnalytics(resolvedPeriod, from, to));
+    }
+
+    private OrderCountAnalyticsResponse computeOrderCountAnalytics(String period, LocalDateTime startDate, LocalDateTime endDate) {
         // Set default dates if not provided
         LocalDateTime start = startDate != null ? startDate : LocalDate.now().minusMonths(3).atStartOfDay();
         LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+        String resolvedPeriod = resolvePeriod(period);
 
-        // Create specification for date range
-        Specification<Order> spec = Specification.where((root, query, cb) ->
-                cb.between(root.get("createdAt"), start, end));
-
-        // Get all orders in range
-        List<Order> orders = orderRepository.findAll(spec);
+        // Aggregate orders of every status per period in the database
+        Map<String, PeriodBucket> buckets = aggregateByPeriod(resolvedPeriod, start, end, ALL_STATUSES);
 
         // Generate time series data for order counts
         List<TimeSeriesDataPoint> timeSeriesData = generateTimeSeriesData(
-                orders,
-                period != null ? period : "daily",
+                buckets,
+                resolvedPeriod,
                 start,
                 end,
-                order -> BigDecimal.ONE
+                (count, amount) -> BigDecimal.valueOf(count)
         );
 
         // Calculate statistics
-        long totalOrderCount = orders.size();
+        long totalOrderCount = sumBucketCounts(buckets);
 
         double averageOrderCount = timeSeriesData.stream()
                 .mapToLong(TimeSeriesDataPoint::getCount)
@@ -153,41 +185,36 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
 
     @Override
     public AverageOrderValueResponse getAverageOrderValue(String period, LocalDateTime startDate, LocalDateTime endDate) {
+        String resolvedPeriod = resolvePeriod(period);
+        return analyticsResultCache.get("average-value", resolvedPeriod, startDate, endDate,
+                (from, to) -> computeAverageOrderValue(resolvedPeriod, from, to));
+    }
+
+    private AverageOrderValueResponse computeAverageOrderValue(String period, LocalDateTime startDate, LocalDateTime endDate) {
         // Set default dates if not provided
         LocalDateTime start = startDate != null ? startDate : LocalDate.now().minusMonths(3).atStartOfDay();
         LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+        String resolvedPeriod = resolvePeriod(period);
 
-        // Create specification for date range
-        Specification<Order> spec = Specification.where((root, query, cb) ->
-                cb.between(root.get("createdAt"), start, end));
-
-        // Add filter for only completed orders
-        spec = spec.and((root, query, cb) ->
-                cb.or(
-                        cb.equal(root.get("status"), OrderStatus.DELIVERED),
-                        cb.equal(root.get("status"), OrderStatus.PAID),
-                        cb.equal(root.get("status"), OrderStatus.PROCESSING),
-                        cb.equal(root.get("status"), OrderStatus.SHIPPING)
-                ));
-
-        // Get all orders in range
-        List<Order> orders = orderRepository.findAll(spec);
+        // Aggregate completed orders per period in the database
+        Map<String, PeriodBucket> buckets = aggregateByPeriod(resolvedPeriod, start, end, REVENUE_STATUSES);
 
         // Generate time series data with average values
-        List<TimeSeriesDataPoint> timeSeriesData = generateAverageOrderValueSeries(
-                orders,
-                period != null ? period : "daily",
+        List<TimeSeriesDataPoint> timeSeriesData = generateTimeSeriesData(
+                buckets,
+                resolvedPeriod,
                 start,
-                end
+                end,
+                (count, amount) -> count == 0 ? BigDecimal.ZERO :
+                        amount.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP)
         );
 
         // Calculate overall average
-        BigDecimal totalRevenue = orders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalOrderCount = sumBucketCounts(buckets);
+        BigDecimal totalRevenue = sumBucketAmounts(buckets);
 
-        BigDecimal overallAverageValue = orders.isEmpty() ? BigDecimal.ZERO :
-                totalRevenue.divide(new BigDecimal(orders.size()), 2, RoundingMode.HALF_UP);
+        BigDecimal overallAverageValue = totalOrderCount == 0 ? BigDecimal.ZERO :
+                totalRevenue.divide(new BigDecimal(totalOrderCount), 2, RoundingMode.HALF_UP);
 
         BigDecimal minAverageValue = timeSeriesData.stream()
                 .map(TimeSeriesDataPoint::getValue)
@@ -213,167 +240,152 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
 
     @Override
     public List<TopProductResponse> getTopProducts(int limit, LocalDateTime startDate, LocalDateTime endDate) {
+        return analyticsResultCache.get("top-products", String.valueOf(limit), startDate, endDate,
+                (from, to) -> computeTopProducts(limit, from, to));
+    }
+
+    private List<TopProductResponse> computeTopProducts(int limit, LocalDateTime startDate, LocalDateTime endDate) {
         // Set default dates if not provided
         LocalDateTime start = startDate != null ? startDate : LocalDate.now().minusMonths(1).atStartOfDay();
         LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
 
-        // Create specification for date range
-        Specification<Order> spec = Specification.where((root, query, cb) ->
-                cb.between(root.get("createdAt"), start, end));
-
-        // Add filter for only completed orders
-        spec = spec.and((root, query, cb) ->
-                cb.or(
-                        cb.equal(root.get("status"), OrderStatus.DELIVERED),
-                        cb.equal(root.get("status"), OrderStatus.PAID),
-                        cb.equal(root.get("status"), OrderStatus.PROCESSING),
-                        cb.equal(root.get("status"), OrderStatus.SHIPPING)
-                ));
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
 
-        // Get all orders in range
-        List<Order> orders = orderRepository.findAll(spec);
+        // Aggregate and rank in the database, only the top rows come back
+        List<ProductSalesAggregate> topSales = orderItemRepository.findTopProductsByRevenue(
+                start,
+                end,
+                REVENUE_ORDER_STATUSES,
+                PageRequest.of(0, limit)
+        );
+
+        if (topSales.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-        // Extract all order items
-        List<OrderItem> orderItems = orders.stream()
-                .flatMap(order -> order.getOrderItems().stream())
+        // Batch-load display data for the selected products only
+        List<UUID> productIds = topSales.stream()
+                .map(ProductSalesAggregate::getProductId)
                 .collect(Collectors.toList());
 
-        // Group by product and calculate totals
-        Map<UUID, TopProductBuilder> productAggregates = new HashMap<>();
-
-        for (OrderItem item : orderItems) {
-            if (item.getProduct() == null) continue;
-
-            UUID productId = item.getProduct().getId();
-            TopProductBuilder builder = productAggregates.getOrDefault(
-                    productId,
-                    new TopProductBuilder(
-                            item.getProduct().getId(),
-                            item.getProduct().getName(),
-                            item.getProduct().getSlug(),
-                            item.getProduct().getImages().stream()
-                                    .filter(image -> Boolean.TRUE.equals(image.getIsPrimary()))
-                                    .findFirst()
-                                    .map(image -> image.getImageUrl())
-                                    .orElse(null),
-                            item.getProduct().getCategory() != null ? item.getProduct().getCategory().getName() : "Unknown",
-                            item.getProduct().getRegion() != null ? item.getProduct().getRegion().getName() : "Unknown"
-                    )
-            );
+        Map<UUID, Product> products = productRepository.findWithCategoryAndRegionByIdIn(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Map<UUID, String> primaryImages = productImageRepository.findByProductIdInAndIsPrimaryTrue(productIds).stream()
+                .collect(Collectors.toMap(
+                        image -> image.getProduct().getId(),
+                        ProductImage::getImageUrl,
+                        (first, second) -> first
+                ));
 
-            builder.addItem(item.getQuantity(), item.getSubtotal());
-            productAggregates.put(productId, builder);
+        // Convert to response objects, keeping the revenue order from the query
+        List<TopProductResponse> result = new ArrayList<>();
+        for (ProductSalesAggregate sales : topSales) {
+            Product product = products.get(sales.getProductId());
+            if (product == null) continue;
+
+            TopProductBuilder builder = new TopProductBuilder(
+                    product.getId(),
+                    product.getName(),
+                    product.getSlug(),
+                    primaryImages.get(product.getId()),
+                    product.getCategory() != null ? product.getCategory().getName() : "Unknown",
+                    product.getRegion() != null ? product.getRegion().getName() : "Unknown"
+            );
+            builder.addItem(sales.getQuantity().intValue(), sales.getRevenue());
+            result.add(builder.build());
         }
 
-        // Convert to response objects and sort by revenue
-        return productAggregates.values().stream()
-                .map(TopProductBuilder::build)
-                .sorted(Comparator.comparing(TopProductResponse::getRevenue).reversed())
-                .limit(limit)
-                .collect(Collectors.toList());
+        return result;
     }
 
     @Override
     public List<GeographicSalesResponse> getGeographicSales(LocalDateTime startDate, LocalDateTime endDate) {
+        return analyticsResultCache.get("geographic", null, startDate, endDate,
+                (from, to) -> computeGeographicSales(from, to));
+    }
+
+    private List<GeographicSalesResponse> computeGeographicSales(LocalDateTime startDate, LocalDateTime endDate) {
         // Set default dates if not provided
         LocalDateTime start = startDate != null ? startDate : LocalDate.now().minusMonths(3).atStartOfDay();
         LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
 
-        // Create specification for date range
-        Specification<Order> spec = Specification.where((root, query, cb) ->
-                cb.between(root.get("createdAt"), start, end));
-
-        // Add filter for only completed orders
-        spec = spec.and((root, query, cb) ->
-                cb.or(
-                        cb.equal(root.get("status"), OrderStatus.DELIVERED),
-                        cb.equal(root.get("status"), OrderStatus.PAID),
-                        cb.equal(root.get("status"), OrderStatus.PROCESSING),
-                        cb.equal(root.get("status"), OrderStatus.SHIPPING)
-                ));
-
-        // Get all orders in range
-        List<Order> orders = orderRepository.findAll(spec);
-
-        // Extract address information
-        Map<String, GeographicSalesBuilder> provinceSales = new HashMap<>();
-
-        for (Order order : orders) {
-            if (order.getShippingAddress() == null || order.getShippingAddress().getProvince() == null) continue;
-
-            String provinceCode = order.getShippingAddress().getProvince().getCode();
-            String provinceName = order.getShippingAddress().getProvince().getName();
-
-            GeographicSalesBuilder builder = provinceSales.getOrDefault(
-                    provinceCode,
-                    new GeographicSalesBuilder(provinceCode, provinceName)
-            );
-
-            builder.addOrder(order.getTotalAmount());
-            provinceSales.put(provinceCode, builder);
-        }
+        // Aggregate completed orders per province
+        Map<String, DimensionBucket> provinceSales = aggregateByDimension(
+                start,
+                end,
+                (fromDay, toDay) -> orderDailyStatRepository.aggregateByProvince(fromDay, toDay, REVENUE_STATUSES),
+                (from, to) -> orderRepository.aggregateByProvince(from, to, REVENUE_STATUSES)
+        );
 
-        // Calculate totals
-        long totalOrderCount = orders.size();
-        BigDecimal totalRevenue = orders.stream()
-                .map(Order::getTotalAmount)
+        // Calculate totals, including orders without a known province
+        long totalOrderCount = provinceSales.values().stream().mapToLong(bucket -> bucket.orderCount).sum();
+        BigDecimal totalRevenue = provinceSales.values().stream()
+                .map(bucket -> bucket.totalAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         // Build response objects with percentages
-        return provinceSales.values().stream()
-                .map(builder -> builder.build(totalOrderCount, totalRevenue))
+        return provinceSales.entrySet().stream()
+                .filter(entry -> !OrderDailyStat.UNKNOWN_PROVINCE.equals(entry.getKey()))
+                .map(entry -> {
+                    GeographicSalesBuilder builder = new GeographicSalesBuilder(entry.getKey(), entry.getValue().label);
+                    builder.addOrders(entry.getValue().orderCount, entry.getValue().totalAmount);
+                    return builder.build(totalOrderCount, totalRevenue);
+                })
                 .sorted(Comparator.comparing(GeographicSalesResponse::getRevenue).reversed())
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<PaymentMethodBreakdownResponse> getPaymentMethodBreakdown(LocalDateTime startDate, LocalDateTime endDate) {
+        return analyticsResultCache.get("payment-methods", null, startDate, endDate,
+                (from, to) -> computePaymentMethodBreakdown(from, to));
+    }
+
+    private List<PaymentMethodBreakdownResponse> computePaymentMethodBreakdown(LocalDateTime startDate, LocalDateTime endDate) {
         // Set default dates if not provided
         LocalDateTime start = startDate != null ? startDate : LocalDate.now().minusMonths(3).atStartOfDay();
         LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
 
-        // Create specification for date range
-        Specification<Order> spec = Specification.where((root, query, cb) ->
-                cb.between(root.get("createdAt"), start, end));
-
-        // Get all orders in range
-        List<Order> orders = orderRepository.findAll(spec);
-
-        // Extract and group by payment method
-        Map<PaymentMethod, PaymentMethodBreakdownBuilder> methodBreakdown = new HashMap<>();
-
-        for (Order order : orders) {
-            if (order.getPayments() == null || order.getPayments().isEmpty()) continue;
-
-            PaymentMethod method = order.getPayments().iterator().next().getPaymentMethod();
-
-            PaymentMethodBreakdownBuilder builder = methodBreakdown.getOrDefault(
-                    method,
-                    new PaymentMethodBreakdownBuilder(
-                            method,
-                            getPaymentMethodDisplayName(method)
-                    )
-            );
-
-            builder.addOrder(order.getTotalAmount());
-            methodBreakdown.put(method, builder);
-        }
+        // Aggregate orders of every status per payment method
+        Map<String, DimensionBucket> methodBreakdown = aggregateByDimension(
+                start,
+                end,
+                (fromDay, toDay) -> orderDailyStatRepository.aggregateByPaymentMethod(fromDay, toDay, ALL_STATUSES),
+                (from, to) -> orderRepository.aggregateByPaymentMethod(from, to, ALL_STATUSES)
+        );
 
-        // Calculate totals
-        long totalOrderCount = orders.size();
-        BigDecimal totalRevenue = orders.stream()
-                .map(Order::getTotalAmount)
+        // Calculate totals, including orders without a payment
+        long totalOrderCount = methodBreakdown.values().stream().mapToLong(bucket -> bucket.orderCount).sum();
+        BigDecimal totalRevenue = methodBreakdown.values().stream()
+                .map(bucket -> bucket.totalAmount)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         // Build response objects with percentages
-        return methodBreakdown.values().stream()
-                .map(builder -> builder.build(totalOrderCount, totalRevenue))
+        return methodBreakdown.entrySet().stream()
+                .filter(entry -> !OrderDailyStat.NO_PAYMENT_METHOD.equals(entry.getKey()))
+                .map(entry -> {
+                    PaymentMethod method = PaymentMethod.valueOf(entry.getKey());
+                    PaymentMethodBreakdownBuilder builder = new PaymentMethodBreakdownBuilder(
+                            method,
+                            getPaymentMethodDisplayName(method)
+                    );
+                    builder.addOrders(entry.getValue().orderCount, entry.getValue().totalAmount);
+                    return builder.build(totalOrderCount, totalRevenue);
+                })
                 .sorted(Comparator.comparing(PaymentMethodBreakdownResponse::getRevenue).reversed())
                 .collect(Collectors.toList());
     }
 
     @Override
     public DashboardStatsResponse getDashboardStats() {
+        return analyticsResultCache.get("dashboard", null, null, null,
+                (from, to) -> computeDashboardStats());
+    }
+
+    private DashboardStatsResponse computeDashboardStats() {
         // Current date info
         LocalDateTime now = LocalDateTime.now();
         LocalDate today = LocalDate.now();
@@ -381,58 +393,65 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
         LocalDate startOfMonth = today.withDayOfMonth(1);
 
         // Previous period for comparison
-        LocalDate yesterday = today.minusDays(1);
         LocalDate previousWeekStart = startOfWeek.minusWeeks(1);
         LocalDate previousMonthStart = today.minusMonths(1).withDayOfMonth(1);
 
-        // Get orders from repository
-        List<Order> allOrders = orderRepository.findAll();
-        List<Order> todayOrders = getOrdersInDateRange(allOrders, today.atStartOfDay(), now);
-        List<Order> thisWeekOrders = getOrdersInDateRange(allOrders, startOfWeek.atStartOfDay(), now);
-        List<Order> thisMonthOrders = getOrdersInDateRange(allOrders, startOfMonth.atStartOfDay(), now);
-
-        List<Order> yesterdayOrders = getOrdersInDateRange(allOrders, yesterday.atStartOfDay(), yesterday.plusDays(1).atStartOfDay());
-        List<Order> previousWeekOrders = getOrdersInDateRange(allOrders, previousWeekStart.atStartOfDay(), startOfWeek.atStartOfDay());
-        List<Order> previousMonthOrders = getOrdersInDateRange(allOrders, previousMonthStart.atStartOfDay(), startOfMonth.atStartOfDay());
+        // Aggregate every metric in one pass, one row per order status
+        List<OrderDashboardAggregate> rows = orderRepository.aggregateDashboard(
+                now,
+                today.atStartOfDay(),
+                startOfWeek.atStartOfDay(),
+                startOfMonth.atStartOfDay(),
+                previousWeekStart.atStartOfDay(),
+                previousMonthStart.atStartOfDay()
+        );
 
-        // Calculate revenue metrics
-        BigDecimal totalRevenue = sumOrderRevenue(allOrders);
-        BigDecimal todayRevenue = sumOrderRevenue(todayOrders);
-        BigDecimal thisWeekRevenue = sumOrderRevenue(thisWeekOrders);
-        BigDecimal thisMonthRevenue = sumOrderRevenue(thisMonthOrders);
+        long totalOrders = 0;
+        long todayOrderCount = 0;
+        long thisWeekOrderCount = 0;
+        long thisMonthOrderCount = 0;
+        long previousWeekOrderCount = 0;
 
-        BigDecimal yesterdayRevenue = sumOrderRevenue(yesterdayOrders);
-        BigDecimal previousWeekRevenue = sumOrderRevenue(previousWeekOrders);
-        BigDecimal previousMonthRevenue = sumOrderRevenue(previousMonthOrders);
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal todayRevenue = BigDecimal.ZERO;
+        BigDecimal thisWeekRevenue = BigDecimal.ZERO;
+        BigDecimal thisMonthRevenue = BigDecimal.ZERO;
+        BigDecimal previousMonthRevenue = BigDecimal.ZERO;
 
-        // Calculate order counts
-        long totalOrders = allOrders.size();
-        long todayOrderCount = todayOrders.size();
-        long thisWeekOrderCount = thisWeekOrders.size();
-        long thisMonthOrderCount = thisMonthOrders.size();
+        // Order status breakdown
+        Map<String, Long> orderStatusCounts = new HashMap<>();
+
+        for (OrderDashboardAggregate row : rows) {
+            totalOrders += row.getOrderCount();
+            todayOrderCount += row.getTodayCount();
+            thisWeekOrderCount += row.getWeekCount();
+            thisMonthOrderCount += row.getMonthCount();
+            previousWeekOrderCount += row.getPreviousWeekCount();
+
+            totalRevenue = totalRevenue.add(row.getTotalAmount());
+            todayRevenue = todayRevenue.add(row.getTodayAmount());
+            thisWeekRevenue = thisWeekRevenue.add(row.getWeekAmount());
+            thisMonthRevenue = thisMonthRevenue.add(row.getMonthAmount());
+            previousMonthRevenue = previousMonthRevenue.add(row.getPreviousMonthAmount());
+
+            orderStatusCounts.put(row.getStatus(), row.getOrderCount());
+        }
 
         // Calculate growth rates
         double revenueGrowth = calculateGrowthRate(thisMonthRevenue, previousMonthRevenue);
-        double orderGrowth = calculateGrowthRate(thisMonthOrderCount, previousWeekOrders.size());
+        double orderGrowth = calculateGrowthRate(thisMonthOrderCount, previousWeekOrderCount);
 
         // Get user metrics
         long totalCustomers = userRepository.count();
 
-        // Order status breakdown
-        Map<String, Long> orderStatusCounts = allOrders.stream()
-                .collect(Collectors.groupingBy(
-                        order -> order.getStatus().name(),
-                        Collectors.counting()
-                ));
-
         // Calculate recent metrics
-        long pendingOrders = countOrdersByStatus(allOrders, OrderStatus.PENDING_PAYMENT);
-        long processingOrders = countOrdersByStatus(allOrders, OrderStatus.PROCESSING);
-        long shippingOrders = countOrdersByStatus(allOrders, OrderStatus.SHIPPING);
+        long pendingOrders = orderStatusCounts.getOrDefault(OrderStatus.PENDING_PAYMENT.name(), 0L);
+        long processingOrders = orderStatusCounts.getOrDefault(OrderStatus.PROCESSING.name(), 0L);
+        long shippingOrders = orderStatusCounts.getOrDefault(OrderStatus.SHIPPING.name(), 0L);
 
         // Average order value
-        BigDecimal averageOrderValue = allOrders.isEmpty() ? BigDecimal.ZERO :
-                totalRevenue.divide(new BigDecimal(allOrders.size()), 2, RoundingMode.HALF_UP);
+        BigDecimal averageOrderValue = totalOrders == 0 ? BigDecimal.ZERO :
+                totalRevenue.divide(BigDecimal.valueOf(totalOrders), 2, RoundingMode.HALF_UP);
 
         // Build response
         return DashboardStatsResponse.builder()
@@ -496,10 +515,75 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
         }
     }
 
+    private static class PeriodBucket {
+        private static final PeriodBucket EMPTY = new PeriodBucket();
+
+        private long orderCount = 0;
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+
+        public void add(long count, BigDecimal amount) {
+            this.orderCount += count;
+            this.totalAmount = this.totalAmount.add(amount);
+        }
+    }
+
+    private static class DimensionBucket {
+        private String label;
+        private long orderCount = 0;
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+
+        public void add(String label, long count, BigDecimal amount) {
+            if (this.label == null) {
+                this.label = label;
+            }
+            this.orderCount += count;
+            this.totalAmount = this.totalAmount.add(amount);
+        }
+    }
+
+    /**
+     * Splits a date-time range into whole days served by the daily rollup
+     * and partial-day edges that are aggregated live from orders
+     */
+    private static class RangeSplit {
+        private LocalDate firstFullDay;
+        private LocalDate lastFullDay;
+        private final List<LocalDateTime[]> liveRanges = new ArrayList<>();
+
+        static RangeSplit of(LocalDateTime start, LocalDateTime end) {
+            RangeSplit split = new RangeSplit();
+
+            LocalDate firstDay = start.toLocalTime().equals(LocalTime.MIDNIGHT)
+                    ? start.toLocalDate()
+                    : start.toLocalDate().plusDays(1);
+            LocalDate lastDay = end.toLocalDate().minusDays(1);
+
+            if (firstDay.isAfter(lastDay)) {
+                split.liveRanges.add(new LocalDateTime[]{start, end});
+                return split;
+            }
+
+            split.firstFullDay = firstDay;
+            split.lastFullDay = lastDay;
+
+            if (start.isBefore(firstDay.atStartOfDay())) {
+                // Timestamps are stored with microsecond precision, stop just before midnight
+                split.liveRanges.add(new LocalDateTime[]{start, firstDay.atStartOfDay().minus(1, ChronoUnit.MICROS)});
+            }
+            split.liveRanges.add(new LocalDateTime[]{lastDay.plusDays(1).atStartOfDay(), end});
+
+            return split;
+        }
+
+        boolean hasFullDays() {
+            return firstFullDay != null;
+        }
+    }
+
     private static class GeographicSalesBuilder {
         private String provinceCode;
         private String provinceName;
-        private int orderCount = 0;
+        private long orderCount = 0;
         private BigDecimal revenue = BigDecimal.ZERO;
 
         public GeographicSalesBuilder(String provinceCode, String provinceName) {
@@ -507,9 +591,9 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
             this.provinceName = provinceName;
         }
 
-        public void addOrder(BigDecimal orderAmount) {
-            this.orderCount++;
-            this.revenue = this.revenue.add(orderAmount);
+        public void addOrders(long count, BigDecimal amount) {
+            this.orderCount += count;
+            this.revenue = this.revenue.add(amount);
         }
 
         public GeographicSalesResponse build(long totalOrders, BigDecimal totalRevenue) {
@@ -535,7 +619,7 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
     private static class PaymentMethodBreakdownBuilder {
         private PaymentMethod paymentMethod;
         private String displayName;
-        private int orderCount = 0;
+        private long orderCount = 0;
         private BigDecimal revenue = BigDecimal.ZERO;
 
         public PaymentMethodBreakdownBuilder(PaymentMethod paymentMethod, String displayName) {
@@ -543,9 +627,9 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
             this.displayName = displayName;
         }
 
-        public void addOrder(BigDecimal orderAmount) {
-            this.orderCount++;
-            this.revenue = this.revenue.add(orderAmount);
+        public void addOrders(long count, BigDecimal amount) {
+            this.orderCount += count;
+            this.revenue = this.revenue.add(amount);
         }
 
         public PaymentMethodBreakdownResponse build(long totalOrders, BigDecimal totalRevenue) {
@@ -570,136 +654,124 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
 
     // Helper methods
 
-    private <T> List<TimeSeriesDataPoint> generateTimeSeriesData(
-            List<T> items,
+    private Map<String, PeriodBucket> aggregateByPeriod(
             String period,
             LocalDateTime startDate,
             LocalDateTime endDate,
-            Function<T, BigDecimal> valueExtractor) {
+            Collection<String> statuses) {
 
-        // Group data points by period
-        Map<String, List<T>> groupedItems = groupByPeriod(items, period, startDate, endDate);
+        Map<String, PeriodBucket> buckets = new HashMap<>();
+        String unit = getTruncUnit(period);
+        RangeSplit split = RangeSplit.of(startDate, endDate);
 
-        // Create a list of all expected time points
-        List<String> allTimePoints = generateTimePointLabels(period, startDate, endDate);
+        List<OrderPeriodAggregate> aggregates = new ArrayList<>();
+        if (split.hasFullDays()) {
+            aggregates.addAll(orderDailyStatRepository.aggregateByPeriod(
+                    unit, split.firstFullDay, split.lastFullDay, statuses));
+        }
+        for (LocalDateTime[] range : split.liveRanges) {
+            aggregates.addAll(orderRepository.aggregateByPeriod(unit, range[0], range[1], statuses));
+        }
 
-        // Create data points
-        return allTimePoints.stream()
-                .map(timePoint -> {
-                    List<T> periodItems = groupedItems.getOrDefault(timePoint, Collections.emptyList());
-                    BigDecimal value = periodItems.stream()
-                            .map(valueExtractor)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        for (OrderPeriodAggregate aggregate : aggregates) {
+            String label = getPeriodLabel(period, LocalDate.parse(aggregate.getBucket()));
+            buckets.computeIfAbsent(label, key -> new PeriodBucket())
+                    .add(aggregate.getOrderCount(), aggregate.getTotalAmount());
+        }
 
-                    return TimeSeriesDataPoint.builder()
-                            .label(timePoint)
-                            .value(value)
-                            .count(periodItems.size())
-                            .build();
-                })
-                .collect(Collectors.toList());
+        return buckets;
+    }
+
+    private Map<String, DimensionBucket> aggregateByDimension(
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            BiFunction<LocalDate, LocalDate, List<OrderDimensionAggregate>> rollupQuery,
+            BiFunction<LocalDateTime, LocalDateTime, List<OrderDimensionAggregate>> liveQuery) {
+
+        RangeSplit split = RangeSplit.of(startDate, endDate);
+
+        List<OrderDimensionAggregate> aggregates = new ArrayList<>();
+        if (split.hasFullDays()) {
+            aggregates.addAll(rollupQuery.apply(split.firstFullDay, split.lastFullDay));
+        }
+        for (LocalDateTime[] range : split.liveRanges) {
+            aggregates.addAll(liveQuery.apply(range[0], range[1]));
+        }
+
+        Map<String, DimensionBucket> buckets = new HashMap<>();
+        for (OrderDimensionAggregate aggregate : aggregates) {
+            buckets.computeIfAbsent(aggregate.getDimension(), key -> new DimensionBucket())
+                    .add(aggregate.getLabel(), aggregate.getOrderCount(), aggregate.getTotalAmount());
+        }
+
+        return buckets;
     }
 
-    private <T> List<TimeSeriesDataPoint> generateAverageOrderValueSeries(
-            List<T> items,
+    private List<TimeSeriesDataPoint> generateTimeSeriesData(
+            Map<String, PeriodBucket> buckets,
             String period,
             LocalDateTime startDate,
-            LocalDateTime endDate) {
-
-        // Group data points by period
-        Map<String, List<Order>> groupedItems = groupByPeriod(
-                items.stream()
-                        .map(item -> (Order) item)
-                        .collect(Collectors.toList()),
-                period,
-                startDate,
-                endDate
-        );
+            LocalDateTime endDate,
+            BiFunction<Long, BigDecimal, BigDecimal> valueExtractor) {
 
         // Create a list of all expected time points
         List<String> allTimePoints = generateTimePointLabels(period, startDate, endDate);
 
-        // Create data points with average values
+        // Create data points, filling periods without orders with zero
         return allTimePoints.stream()
                 .map(timePoint -> {
-                    List<Order> periodOrders = groupedItems.getOrDefault(timePoint, Collections.emptyList());
-                    BigDecimal totalValue = periodOrders.stream()
-                            .map(Order::getTotalAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                    BigDecimal averageValue = periodOrders.isEmpty() ? BigDecimal.ZERO :
-                            totalValue.divide(new BigDecimal(periodOrders.size()), 2, RoundingMode.HALF_UP);
+                    PeriodBucket bucket = buckets.getOrDefault(timePoint, PeriodBucket.EMPTY);
 
                     return TimeSeriesDataPoint.builder()
                             .label(timePoint)
-                            .value(averageValue)
-                            .count(periodOrders.size())
+                            .value(valueExtractor.apply(bucket.orderCount, bucket.totalAmount))
+                            .count(bucket.orderCount)
                             .build();
                 })
                 .collect(Collectors.toList());
     }
 
-    private <T> Map<String, List<T>> groupByPeriod(
-            List<T> items,
-            String period,
-            LocalDateTime startDate,
-            LocalDateTime endDate) {
+    private long sumBucketCounts(Map<String, PeriodBucket> buckets) {
+        return buckets.values().stream()
+                .mapToLong(bucket -> bucket.orderCount)
+                .sum();
+    }
 
-        if (items.isEmpty()) {
-            return Collections.emptyMap();
-        }
+    private BigDecimal sumBucketAmounts(Map<String, PeriodBucket> buckets) {
+        return buckets.values().stream()
+                .map(bucket -> bucket.totalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
 
-        // Extract creation dates from items
-        Map<String, List<T>> result = new HashMap<>();
+    // One spelling per period, so "Daily", "daily" and a missing period share a cache entry
+    private static String resolvePeriod(String period) {
+        if (period == null) {
+            return "daily";
+        }
+        String normalized = period.trim().toLowerCase(Locale.ROOT);
+        return SUPPORTED_PERIODS.contains(normalized) ? normalized : "daily";
+    }
 
-        // Format date based on period type
-        DateTimeFormatter formatter;
-        Function<LocalDateTime, String> keyExtractor;
+    private String getTruncUnit(String period) {
+        switch (period.toLowerCase()) {
+            case "weekly": return "week";
+            case "monthly": return "month";
+            case "yearly": return "year";
+            default: return "day";
+        }
+    }
 
+    private String getPeriodLabel(String period, LocalDate bucketStart) {
         switch (period.toLowerCase()) {
-            case "daily":
-                formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                keyExtractor = date -> date.format(formatter);
-                break;
             case "weekly":
-                keyExtractor = date -> {
-                    LocalDate ld = date.toLocalDate();
-                    LocalDate weekStart = ld.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
-                    return "Week " + weekStart.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-                };
-                break;
+                return "Week " + bucketStart.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
             case "monthly":
-                formatter = DateTimeFormatter.ofPattern("yyyy-MM");
-                keyExtractor = date -> date.format(formatter);
-                break;
+                return bucketStart.format(DateTimeFormatter.ofPattern("yyyy-MM"));
             case "yearly":
-                formatter = DateTimeFormatter.ofPattern("yyyy");
-                keyExtractor = date -> date.format(formatter);
-                break;
+                return String.valueOf(bucketStart.getYear());
             default:
-                formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-                keyExtractor = date -> date.format(formatter);
-                break;
+                return bucketStart.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
         }
-
-        // Group items by period
-        return items.stream()
-                .filter(item -> {
-                    if (item instanceof Order) {
-                        LocalDateTime orderDate = ((Order) item).getCreatedAt();
-                        return orderDate != null &&
-                                !orderDate.isBefore(startDate) &&
-                                !orderDate.isAfter(endDate);
-                    }
-                    return true;
-                })
-                .collect(Collectors.groupingBy(item -> {
-                    if (item instanceof Order) {
-                        LocalDateTime orderDate = ((Order) item).getCreatedAt();
-                        return keyExtractor.apply(orderDate);
-                    }
-                    return "unknown";
-                }));
     }
 
     private List<String> generateTimePointLabels(String period, LocalDateTime startDate, LocalDateTime endDate) {
@@ -798,29 +870,6 @@ public class OrderAnalyticsServiceImpl implements OrderAnalyticsService {
         }
     }
 
-    private List<Order> getOrdersInDateRange(List<Order> orders, LocalDateTime start, LocalDateTime end) {
-        return orders.stream()
-                .filter(order -> {
-                    LocalDateTime orderDate = order.getCreatedAt();
-                    return orderDate != null &&
-                            !orderDate.isBefore(start) &&
-                            !orderDate.isAfter(end);
-                })
-                .collect(Collectors.toList());
-    }
-
-    private BigDecimal sumOrderRevenue(List<Order> orders) {
-        return orders.stream()
-                .map(Order::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-    }
-
-    private long countOrdersByStatus(List<Order> orders, OrderStatus status) {
-        return orders.stream()
-                .filter(order -> order.getStatus() == status)
-                .count();
-    }
-
     private double calculateGrowthRate(BigDecimal current, BigDecimal previous) {
         if (previous.compareTo(BigDecimal.ZERO) == 0) {
             return current.compareTo(BigDecimal.ZERO) > 0 ? 100 : 0;
@@ -0,0 +1,187 @@
+package com.mosiacstore.mosiac.application.service.Impl;
+
+import com.mosiacstore.mosiac.application.exception.InvalidOperationException;
+import com.mosiacstore.mosiac.application.service.OrderDailyStatsService;
+import com.mosiacstore.mosiac.domain.analytics.OrderDailyStat;
+import com.mosiacstore.mosiac.domain.analytics.OrderDailyStatId;
+import com.mosiacstore.mosiac.domain.analytics.OrderStatsSnapshot;
+import com.mosiacstore.mosiac.domain.order.Order;
+import com.mosiacstore.mosiac.domain.order.OrderStatus;
+import com.mosiacstore.mosiac.domain.payment.Payment;
+import com.mosiacstore.mosiac.infrastructure.repository.OrderDailyStatRepository;
+import com.mosiacstore.mosiac.infrastructure.service.AnalyticsResultCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderDailyStatsServiceImpl implements OrderDailyStatsService {
+
+    private final OrderDailyStatRepository orderDailyStatRepository;
+    private final AnalyticsResultCache analyticsResultCache;
+
+    // Rows are always locked in this order so two concurrent transitions cannot deadlock
+    private static final Comparator<OrderDailyStatId> KEY_ORDER = Comparator
+            .comparing(OrderDailyStatId::getStatDate)
+            .thenComparing(key -> key.getStatus().name())
+            .thenComparing(OrderDailyStatId::getPaymentMethod)
+            .thenComparing(OrderDailyStatId::getProvinceCode);
+
+    // First payment of an order, the same pick as ORDER BY created_at, payment_id in the rollup SQL
+    // (Postgres sorts uuids like their lower-case text; unsaved payments have no timestamp yet and sort last)
+    private static final Comparator<Payment> FIRST_PAYMENT = Comparator
+            .comparing(Payment::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(payment -> payment.getId() != null ? payment.getId().toString() : null,
+                    Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @Override
+    public OrderStatsSnapshot snapshot(Order order) {
+        String paymentMethod = order.getPayments() == null
+                ? OrderDailyStat.NO_PAYMENT_METHOD
+                : order.getPayments().stream()
+                        .min(FIRST_PAYMENT)
+                        .map(payment -> payment.getPaymentMethod().name())
+                        .orElse(OrderDailyStat.NO_PAYMENT_METHOD);
+
+        String provinceCode = order.getShippingAddress() != null && order.getShippingAddress().getProvince() != null
+                ? order.getShippingAddress().getProvince().getCode()
+                : OrderDailyStat.UNKNOWN_PROVINCE;
+
+        OrderDailyStatId key = new OrderDailyStatId(
+                order.getCreatedAt().toLocalDate(),
+                order.getStatus(),
+                paymentMethod,
+                provinceCode
+        );
+
+        return new OrderStatsSnapshot(key, order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional
+    public void recordCreated(Order order) {
+        OrderStatsSnapshot snapshot = snapshot(order);
+        applyDelta(snapshot.getKey(), 1, snapshot.getAmount());
+        evictAnalyticsAfterCommit(order.getCreatedAt(), order.getCreatedAt());
+    }
+
+    @Override
+    @Transactional
+    public void recordChanged(OrderStatsSnapshot before, Order order) {
+        OrderStatsSnapshot after = snapshot(order);
+        evictAnalyticsAfterCommit(order.getCreatedAt(), order.getCreatedAt());
+
+        if (before.getKey().equals(after.getKey())) {
+            BigDecimal amountDelta = after.getAmount().subtract(before.getAmount());
+            if (amountDelta.signum() != 0) {
+                applyDelta(after.getKey(), 0, amountDelta);
+            }
+            return;
+        }
+
+        if (KEY_ORDER.compare(before.getKey(), after.getKey()) < 0) {
+            applyDelta(before.getKey(), -1, before.getAmount().negate());
+            applyDelta(after.getKey(), 1, after.getAmount());
+        } else {
+            applyDelta(after.getKey(), 1, after.getAmount());
+            applyDelta(before.getKey(), -1, before.getAmount().negate());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void recordStatusChanges(List<OrderStatsSnapshot> before, OrderStatus newStatus) {
+        if (before.isEmpty()) {
+            return;
+        }
+
+        Map<OrderDailyStatId, long[]> counts = new TreeMap<>(KEY_ORDER);
+        Map<OrderDailyStatId, BigDecimal> amounts = new TreeMap<>(KEY_ORDER);
+        LocalDate firstDay = null;
+        LocalDate lastDay = null;
+
+        for (OrderStatsSnapshot snapshot : before) {
+            OrderDailyStatId from = snapshot.getKey();
+            OrderDailyStatId to = new OrderDailyStatId(from.getStatDate(), newStatus, from.getPaymentMethod(), from.getProvinceCode());
+
+            counts.computeIfAbsent(from, key -> new long[1])[0]--;
+            counts.computeIfAbsent(to, key -> new long[1])[0]++;
+            amounts.merge(from, snapshot.getAmount().negate(), BigDecimal::add);
+            amounts.merge(to, snapshot.getAmount(), BigDecimal::add);
+
+            firstDay = firstDay == null || from.getStatDate().isBefore(firstDay) ? from.getStatDate() : firstDay;
+            lastDay = lastDay == null || from.getStatDate().isAfter(lastDay) ? from.getStatDate() : lastDay;
+        }
+
+        counts.forEach((key, count) -> {
+            BigDecimal amount = amounts.get(key);
+            if (count[0] != 0 || amount.signum() != 0) {
+                applyDelta(key, count[0], amount);
+            }
+        });
+
+        evictAnalyticsAfterCommit(firstDay.atStartOfDay(), lastDay.plusDays(1).atStartOfDay());
+    }
+
+    @Override
+    @Transactional
+    public int rebuild(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidOperationException("Start date must not be after end date");
+        }
+
+        // Keep incremental updates out while the range is recomputed so no delta is lost or counted twice
+        orderDailyStatRepository.lockForRebuild();
+
+        int deleted = orderDailyStatRepository.deleteByStatDateBetween(startDate, endDate);
+        int inserted = orderDailyStatRepository.rebuildFromOrders(
+                startDate.atStartOfDay(),
+                endDate.plusDays(1).atStartOfDay()
+        );
+
+        evictAnalyticsAfterCommit(startDate.atStartOfDay(), endDate.plusDays(1).atStartOfDay());
+
+        log.info("Rebuilt order daily stats from {} to {}: {} rows removed, {} rows written",
+                startDate, endDate, deleted, inserted);
+        return inserted;
+    }
+
+    // Cached analytics must not be evicted before the change is visible to other transactions
+    private void evictAnalyticsAfterCommit(LocalDateTime from, LocalDateTime to) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            analyticsResultCache.evictOverlapping(from, to);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                analyticsResultCache.evictOverlapping(from, to);
+            }
+        });
+    }
+
+    private void applyDelta(OrderDailyStatId key, long countDelta, BigDecimal revenueDelta) {
+        orderDailyStatRepository.applyDelta(
+                key.getStatDate(),
+                key.getStatus().name(),
+                key.getPaymentMethod(),
+                key.getProvinceCode(),
+                countDelta,
+                revenueDelta
+        );
+    }
+}
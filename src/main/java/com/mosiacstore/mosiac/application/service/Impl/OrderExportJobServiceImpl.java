@@ -0,0 +1,278 @@
+package com.mosiacstore.mosiac.application.service.Impl;
+
+import com.mosiacstore.mosiac.application.dto.response.ExportJobResponse;
+import com.mosiacstore.mosiac.application.exception.EntityNotFoundException;
+import com.mosiacstore.mosiac.application.exception.ResourceConflictException;
+import com.mosiacstore.mosiac.application.service.OrderExportJobService;
+import com.mosiacstore.mosiac.application.service.OrderService;
+import com.mosiacstore.mosiac.domain.order.ExportJob;
+import com.mosiacstore.mosiac.domain.order.ExportJobStatus;
+import com.mosiacstore.mosiac.infrastructure.repository.ExportJobRepository;
+import com.mosiacstore.mosiac.infrastructure.service.StorageServiceDelegate;
+import com.mosiacstore.mosiac.infrastructure.util.FileSystemMultipartFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+public class OrderExportJobServiceImpl implements OrderExportJobService {
+
+    private static final String EXPORT_FOLDER = "exports";
+    private static final long PROGRESS_INTERVAL = 1000;
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final List<ExportJobStatus> UNFINISHED = List.of(ExportJobStatus.PENDING, ExportJobStatus.RUNNING);
+
+    private final ExportJobRepository exportJobRepository;
+    private final OrderService orderService;
+    private final StorageServiceDelegate storageServiceDelegate;
+    private final TaskExecutor exportExecutor;
+    private final String nodeId;
+    private final long staleAfterSeconds;
+    // Jobs queued or running on this node, whose heartbeat it keeps fresh
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+
+    public OrderExportJobServiceImpl(ExportJobRepository exportJobRepository,
+                                     OrderService orderService,
+                                     StorageServiceDelegate storageServiceDelegate,
+                                     @Qualifier("exportExecutor") TaskExecutor exportExecutor,
+                                     @Value("${export-jobs.node-id:}") String nodeId,
+                                     @Value("${export-jobs.stale-after-seconds:300}") long staleAfterSeconds) {
+        this.exportJobRepository = exportJobRepository;
+        this.orderService = orderService;
+        this.storageServiceDelegate = storageServiceDelegate;
+        this.exportExecutor = exportExecutor;
+        this.nodeId = nodeId != null && !nodeId.isBlank() ? nodeId.trim() : defaultNodeId();
+        this.staleAfterSeconds = staleAfterSeconds;
+    }
+
+    @Override
+    public ExportJobResponse createJob(String format, String status, LocalDateTime startDate, LocalDateTime endDate,
+                                       UUID adminId) {
+        ExportJob job = new ExportJob();
+        job.setRequestedBy(adminId);
+        job.setFormat(isExcel(format) ? "xlsx" : "csv");
+        job.setStatusFilter(status);
+        // Resolve defaults now so the job exports the range that was current when it was requested
+        job.setStartDate(startDate != null ? startDate : LocalDate.now().minusMonths(1).atStartOfDay());
+        job.setEndDate(endDate != null ? endDate : LocalDateTime.now());
+        job.setState(ExportJobStatus.PENDING);
+        job.setOwnerNode(nodeId);
+        job.setHeartbeatAt(LocalDateTime.now());
+        ExportJob savedJob = exportJobRepository.save(job);
+
+        activeJobs.add(savedJob.getId());
+        try {
+            exportExecutor.execute(() -> runJob(savedJob.getId()));
+        } catch (TaskRejectedException e) {
+            activeJobs.remove(savedJob.getId());
+            markFailed(savedJob.getId(), "Export queue is full", 0);
+            throw new ResourceConflictException("Too many exports in progress, please try again later");
+        }
+
+        return mapToResponse(savedJob);
+    }
+
+    @Override
+    public ExportJobResponse getJob(UUID id) {
+        return exportJobRepository.findById(id)
+                .map(this::mapToResponse)
+                .orElseThrow(() -> new EntityNotFoundException("Export job not found with ID: " + id));
+    }
+
+    /**
+     * Jobs this node had queued or running when it stopped will never complete.
+     * Jobs of other nodes are left alone, they are failed by {@link #failStaleJobs()} if their node is gone
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        int failed = exportJobRepository.failUnfinishedOfNode(
+                UNFINISHED,
+                nodeId,
+                ExportJobStatus.FAILED,
+                "Interrupted by application restart",
+                LocalDateTime.now()
+        );
+        if (failed > 0) {
+            log.warn("Marked {} interrupted export jobs of node {} as failed", failed, nodeId);
+        }
+    }
+
+    @Override
+    public void heartbeat() {
+        if (activeJobs.isEmpty()) {
+            return;
+        }
+        exportJobRepository.touchHeartbeats(List.copyOf(activeJobs), UNFINISHED, LocalDateTime.now());
+    }
+
+    @Override
+    public int failStaleJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int failed = exportJobRepository.failStale(
+                UNFINISHED,
+                now.minusSeconds(staleAfterSeconds),
+                ExportJobStatus.FAILED,
+                "Interrupted, the node running the export stopped",
+                now
+        );
+        if (failed > 0) {
+            log.warn("Marked {} export jobs with a stale heartbeat as failed", failed);
+        }
+        return failed;
+    }
+
+    private void runJob(UUID jobId) {
+        try {
+            exportJob(jobId);
+        } finally {
+            activeJobs.remove(jobId);
+        }
+    }
+
+    private void exportJob(UUID jobId) {
+        ExportJob job = exportJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            log.warn("Export job {} disappeared before it started", jobId);
+            return;
+        }
+        if (job.getState() != ExportJobStatus.PENDING) {
+            log.warn("Export job {} is {} and will not be started", jobId, job.getState());
+            return;
+        }
+
+        Path tempFile = null;
+        long[] writtenRows = {0};
+        try {
+            long totalRows = orderService.countOrdersForExport(job.getStatusFilter(), job.getStartDate(), job.getEndDate());
+            if (exportJobRepository.claim(jobId, ExportJobStatus.PENDING, ExportJobStatus.RUNNING,
+                    totalRows, LocalDateTime.now()) == 0) {
+                log.warn("Export job {} was claimed or failed elsewhere and will not be started", jobId);
+                return;
+            }
+
+            // Generate into a temp file so neither the rows nor the file are held in memory
+            tempFile = Files.createTempFile("orders-export-", "." + job.getFormat());
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+                orderService.exportOrders(
+                        job.getFormat(),
+                        job.getStatusFilter(),
+                        job.getStartDate(),
+                        job.getEndDate(),
+                        outputStream,
+                        rows -> {
+                            writtenRows[0] = rows;
+                            if (rows % PROGRESS_INTERVAL == 0) {
+                                exportJobRepository.updateProgress(jobId, rows, LocalDateTime.now());
+                            }
+                        }
+                );
+            }
+
+            String filename = "orders_" + LocalDate.now() + "." + job.getFormat();
+            String fileUrl = storageServiceDelegate.uploadFile(
+                    new FileSystemMultipartFile(tempFile, filename, contentType(job.getFormat())),
+                    EXPORT_FOLDER
+            );
+
+            if (exportJobRepository.complete(jobId, ExportJobStatus.RUNNING, ExportJobStatus.COMPLETED,
+                    fileUrl, writtenRows[0], LocalDateTime.now()) == 0) {
+                // The stale sweep failed the job meanwhile; nobody will download this file
+                log.warn("Export job {} was failed elsewhere before it completed, discarding its file", jobId);
+                storageServiceDelegate.deleteFile(fileUrl);
+                return;
+            }
+
+            log.info("Export job {} completed with {} rows", jobId, writtenRows[0]);
+        } catch (Exception e) {
+            log.error("Export job {} failed", jobId, e);
+            markFailed(jobId, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName(), writtenRows[0]);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (Exception e) {
+                    log.warn("Could not delete export temp file {}", tempFile, e);
+                }
+            }
+        }
+    }
+
+    private void markFailed(UUID jobId, String message, long processedRows) {
+        int updated = exportJobRepository.failUnfinished(
+                jobId,
+                UNFINISHED,
+                ExportJobStatus.FAILED,
+                message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message,
+                processedRows,
+                LocalDateTime.now()
+        );
+        if (updated == 0) {
+            log.warn("Export job {} had already finished elsewhere, not marking it failed", jobId);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String hostname = System.getenv("HOSTNAME");
+        if (hostname != null && !hostname.isBlank()) {
+            return hostname;
+        }
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node-" + UUID.randomUUID();
+        }
+    }
+
+    private boolean isExcel(String format) {
+        return "xlsx".equalsIgnoreCase(format) || "excel".equalsIgnoreCase(format);
+    }
+
+    private String contentType(String format) {
+        return "xlsx".equals(format)
+                ? "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet"
+                : "text/csv";
+    }
+
+    private ExportJobResponse mapToResponse(ExportJob job) {
+        Double progress = null;
+        if (job.getState() == ExportJobStatus.COMPLETED) {
+            progress = 100.0;
+        } else if (job.getTotalRows() != null && job.getTotalRows() > 0) {
+            progress = Math.min(100.0, job.getProcessedRows() * 100.0 / job.getTotalRows());
+        }
+
+        return ExportJobResponse.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .statusFilter(job.getStatusFilter())
+                .startDate(job.getStartDate())
+                .endDate(job.getEndDate())
+                .state(job.getState())
+                .totalRows(job.getTotalRows())
+                .processedRows(job.getProcessedRows())
+                .progress(progress)
+                .fileUrl(job.getFileUrl())
+                .errorMessage(job.getErrorMessage())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .build();
+    }
+}
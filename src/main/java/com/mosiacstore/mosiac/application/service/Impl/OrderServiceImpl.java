@@ -1,21 +1,27 @@
 package com.mosiacstore.mosiac.application.service.Impl;
 
 import com.mosiacstore.mosiac.application.dto.UserDto;
+import com.mosiacstore.mosiac.application.dto.request.BulkOrderStatusRequest;
 import com.mosiacstore.mosiac.application.dto.request.CheckoutRequest;
 import com.mosiacstore.mosiac.application.dto.request.OrderItemRequest;
 import com.mosiacstore.mosiac.application.dto.request.UpdateOrderItemsRequest;
 import com.mosiacstore.mosiac.application.dto.response.*;
 import com.mosiacstore.mosiac.application.exception.EntityNotFoundException;
 import com.mosiacstore.mosiac.application.exception.InvalidOperationException;
-import com.mosiacstore.mosiac.application.service.AdminNotificationService;
+import com.mosiacstore.mosiac.application.service.InventoryService;
+import com.mosiacstore.mosiac.application.service.OrderDailyStatsService;
 import com.mosiacstore.mosiac.application.service.OrderService;
+import com.mosiacstore.mosiac.application.service.OutboxService;
 import com.mosiacstore.mosiac.application.service.PaymentService;
+import com.mosiacstore.mosiac.application.service.UserOrderSummaryService;
 import com.mosiacstore.mosiac.domain.address.Address;
+import com.mosiacstore.mosiac.domain.analytics.OrderStatsSnapshot;
 import com.mosiacstore.mosiac.domain.cart.Cart;
 import com.mosiacstore.mosiac.domain.cart.CartItem;
 import com.mosiacstore.mosiac.domain.order.Order;
 import com.mosiacstore.mosiac.domain.order.OrderItem;
 import com.mosiacstore.mosiac.domain.order.OrderStatus;
+import com.mosiacstore.mosiac.domain.outbox.OutboxEventType;
 import com.mosiacstore.mosiac.domain.payment.Payment;
 import com.mosiacstore.mosiac.domain.payment.PaymentMethod;
 import com.mosiacstore.mosiac.domain.payment.PaymentStatus;
@@ -23,16 +29,16 @@ import com.mosiacstore.mosiac.domain.product.Product;
 import com.mosiacstore.mosiac.domain.product.ProductVariant;
 import com.mosiacstore.mosiac.domain.user.User;
 import com.mosiacstore.mosiac.infrastructure.repository.*;
+import com.mosiacstore.mosiac.infrastructure.service.OrderNumberGenerator;
 
 import com.opencsv.CSVWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.xssf.usermodel.XSSFSheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -40,20 +46,31 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.ByteArrayOutputStream;
-import java.io.StringWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -69,8 +86,25 @@ public class OrderServiceImpl implements OrderService {
     private final PaymentService paymentService;
     private final ProductRepository productRepository;
     private final ProductVariantRepository variantRepository;
-    private final AdminNotificationService adminNotificationService;
-    private final EmailService emailService;
+    private final OutboxService outboxService;
+    private final OrderDailyStatsService orderDailyStatsService;
+    private final UserOrderSummaryService userOrderSummaryService;
+    private final InventoryService inventoryService;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    private static final int EXCEL_ROW_WINDOW = 200;
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_BULK_STATUS_ORDERS = 500;
+    private static final int BULK_STATUS_CHUNK_SIZE = 100;
+    private static final String PAYMENT_EXPIRED_REASON = "Payment not received before the due date";
+
+    private static final String[] EXPORT_HEADERS = {
+            "Order Number", "Status", "Customer Name", "Phone", "Address",
+            "Total Product Amount", "Shipping Fee", "Total Amount",
+            "Payment Method", "Payment Status", "Created At", "Updated At", "Note"
+    };
 
     private static final BigDecimal FREE_SHIPPING_THRESHOLD = new BigDecimal("500000"); // 500,000 VND
     private static final BigDecimal STANDARD_SHIPPING_FEE = new BigDecimal("30000"); // 30,000 VND
@@ -162,20 +196,12 @@ public class OrderServiceImpl implements OrderService {
         for (CartItem item : cart.getItems()) {
             BigDecimal itemPrice = item.getPriceSnapshot().multiply(new BigDecimal(item.getQuantity()));
             totalProductAmount = totalProductAmount.add(itemPrice);
-
-            // Check stock availability
-            Integer stockQuantity;
-            if (item.getVariant() != null) {
-                stockQuantity = item.getVariant().getStockQuantity();
-            } else {
-                stockQuantity = item.getProduct().getStockQuantity();
-            }
-
-            if (stockQuantity != null && stockQuantity < item.getQuantity()) {
-                throw new InvalidOperationException("Not enough stock for product: " + item.getProduct().getName());
-            }
         }
 
+        // The user's own checkout holds become the order's stock, then stock is taken with guarded updates
+        inventoryService.releaseReservations(userId);
+        inventoryService.decrementStock(cart.getItems());
+
         BigDecimal shippingFee = BigDecimal.ZERO; // Shipping will be calculated separately
         String shippingNote = "Phí vận chuyển sẽ được tính riêng và thông báo qua email";
 
@@ -189,7 +215,7 @@ public class OrderServiceImpl implements OrderService {
             order.setNote(shippingNote);
         }
         order.setUser(user);
-        order.setOrderNumber(generateOrderNumber());
+        order.setOrderNumber(orderNumberGenerator.nextOrderNumber());
         order.setStatus(OrderStatus.PENDING_PAYMENT);
         order.setTotalProductAmount(totalProductAmount);
         order.setShippingFee(shippingFee);
@@ -207,14 +233,15 @@ public class OrderServiceImpl implements OrderService {
         order.setShippingAddressSnapshot(addressSnapshot);
 
         order.setNote(request.getNote());
-        order.setPaymentDue(LocalDateTime.now().plusDays(2)); // Payment due in 2 days
+        // Prepaid methods are due in 2 days, COD is paid on delivery and never expires
+        order.setPaymentDue(paymentMethod == PaymentMethod.COD ? null : LocalDateTime.now().plusDays(2));
         order.setOrderItems(new HashSet<>());
         order.setPayments(new HashSet<>());
 
         Order savedOrder = orderRepository.save(order);
 
         // Create order items
-        Set<OrderItem> orderItems = new HashSet<>();
+        List<OrderItem> orderItems = new ArrayList<>();
         for (CartItem cartItem : cart.getItems()) {
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(savedOrder);
@@ -235,26 +262,11 @@ public class OrderServiceImpl implements OrderService {
             orderItem.setQuantity(cartItem.getQuantity());
             orderItem.setSubtotal(cartItem.getPriceSnapshot().multiply(new BigDecimal(cartItem.getQuantity())));
 
-            OrderItem savedOrderItem = orderItemRepository.save(orderItem);
-            orderItems.add(savedOrderItem);
-
-            // Update product stock
-            if (cartItem.getVariant() != null) {
-                ProductVariant variant = cartItem.getVariant();
-                if (variant.getStockQuantity() != null) {
-                    variant.setStockQuantity(variant.getStockQuantity() - cartItem.getQuantity());
-                    productRepository.save(cartItem.getProduct());
-                }
-            } else {
-                if (cartItem.getProduct().getStockQuantity() != null) {
-                    cartItem.getProduct().setStockQuantity(
-                            cartItem.getProduct().getStockQuantity() - cartItem.getQuantity());
-                    productRepository.save(cartItem.getProduct());
-                }
-            }
+            orderItems.add(orderItem);
         }
 
-        savedOrder.setOrderItems(orderItems);
+        // Saved together so the inserts go out as one JDBC batch
+        savedOrder.getOrderItems().addAll(orderItemRepository.saveAll(orderItems));
 
         // Create payment record
         Payment payment = new Payment();
@@ -272,6 +284,11 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Payment savedPayment = paymentRepository.save(payment);
+        savedOrder.getPayments().add(savedPayment);
+
+        // Add the order to the daily analytics rollup
+        orderDailyStatsService.recordCreated(savedOrder);
+        userOrderSummaryService.markChanged(savedOrder);
 
         // Clear the cart
         cart.getItems().clear();
@@ -293,11 +310,9 @@ public class OrderServiceImpl implements OrderService {
                             "Reference: " + savedOrder.getOrderNumber());
         }
 
-        // Send admin notification asynchronously
-        adminNotificationService.notifyNewOrder(savedOrder);
-
-        // Send confirmation email to customer
-        emailService.sendOrderConfirmationEmail(savedOrder);
+        // Admin notification and confirmation email go out through the outbox once the order is committed
+        outboxService.publish(OutboxEventType.ADMIN_NEW_ORDER_NOTIFICATION, savedOrder.getId(), null);
+        outboxService.publish(OutboxEventType.ORDER_CONFIRMATION_EMAIL, savedOrder.getId(), null);
 
         return checkoutResponse;
     }
@@ -327,27 +342,19 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOperationException("Cannot cancel an order that is already being shipped. Please contact customer support.");
         }
 
+        OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(order);
+
         // Update order status
         order.setStatus(OrderStatus.CANCELLED);
         order.setCancelledReason(reason);
 
         // Restore product stock
-        for (OrderItem item : order.getOrderItems()) {
-            if (item.getVariant() != null) {
-                ProductVariant variant = item.getVariant();
-                if (variant.getStockQuantity() != null) {
-                    variant.setStockQuantity(variant.getStockQuantity() + item.getQuantity());
-                }
-            } else {
-                if (item.getProduct().getStockQuantity() != null) {
-                    item.getProduct().setStockQuantity(
-                            item.getProduct().getStockQuantity() + item.getQuantity());
-                }
-            }
-            productRepository.save(item.getProduct());
-        }
+        inventoryService.restoreStock(order.getOrderItems());
 
         Order updatedOrder = orderRepository.save(order);
+        orderDailyStatsService.recordChanged(statsBefore, updatedOrder);
+        userOrderSummaryService.markChanged(updatedOrder);
+        outboxService.publish(OutboxEventType.ORDER_STATUS_EMAIL, updatedOrder.getId(), OrderStatus.CANCELLED.name());
         return mapToOrderResponse(updatedOrder);
     }
 
@@ -356,6 +363,94 @@ public class OrderServiceImpl implements OrderService {
                                                     LocalDateTime startDate, LocalDateTime endDate,
                                                     int page, int size, String sort) {
         // Create specification for filtering
+        Specification<Order> spec = buildAdminOrderSpecification(keyword, status, userId, startDate, endDate);
+
+        Sort sorting = Sort.by(Sort.Direction.DESC, "createdAt");
+        if (sort != null && !sort.isEmpty()) {
+            String[] params = sort.split(",");
+            Sort.Direction dir = params.length > 1 && params[1].equalsIgnoreCase("asc")
+                    ? Sort.Direction.ASC : Sort.Direction.DESC;
+            sorting = Sort.by(dir, params[0]);
+        }
+
+        Pageable pageable = PageRequest.of(page, size, sorting);
+        Page<Order> orderPage = orderRepository.findAll(spec, pageable);
+
+        List<OrderResponse> orderResponses = orderPage.getContent().stream()
+                .map(this::mapToOrderResponse)
+                .collect(Collectors.toList());
+
+        return new PageResponse<>(
+                orderResponses,
+                orderPage.getNumber(),
+                orderPage.getSize(),
+                orderPage.getTotalElements(),
+                orderPage.getTotalPages(),
+                orderPage.isFirst(),
+                orderPage.isLast()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<OrderResponse> getAllOrdersByCursor(String keyword, String status, UUID userId,
+                                                                  LocalDateTime startDate, LocalDateTime endDate,
+                                                                  String cursor, int size, String direction,
+                                                                  boolean includeTotal) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new InvalidOperationException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        boolean ascending = "asc".equalsIgnoreCase(direction);
+        Specification<Order> filter = buildAdminOrderSpecification(keyword, status, userId, startDate, endDate);
+
+        // Seek past the last row of the previous page instead of skipping rows with OFFSET
+        Specification<Order> spec = filter;
+        if (cursor != null && !cursor.isEmpty()) {
+            OrderCursor position = OrderCursor.decode(cursor);
+            spec = spec.and((root, query, cb) -> ascending
+                    ? cb.or(
+                            cb.greaterThan(root.get("createdAt"), position.createdAt),
+                            cb.and(cb.equal(root.get("createdAt"), position.createdAt),
+                                    cb.greaterThan(root.get("id"), position.id)))
+                    : cb.or(
+                            cb.lessThan(root.get("createdAt"), position.createdAt),
+                            cb.and(cb.equal(root.get("createdAt"), position.createdAt),
+                                    cb.lessThan(root.get("id"), position.id))));
+        }
+
+        Sort.Direction sortDirection = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sorting = Sort.by(sortDirection, "createdAt").and(Sort.by(sortDirection, "id"));
+
+        // Fetch one extra row to know whether another page exists, without a COUNT query
+        List<Order> orders = orderRepository.findBy(spec, query -> query
+                .project("invoice")
+                .sortBy(sorting)
+                .limit(size + 1)
+                .all());
+
+        boolean hasNext = orders.size() > size;
+        if (hasNext) {
+            orders = orders.subList(0, size);
+        }
+
+        String nextCursor = null;
+        if (hasNext) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+
+        List<OrderResponse> orderResponses = orders.stream()
+                .map(this::mapToOrderResponse)
+                .collect(Collectors.toList());
+
+        Long totalElements = includeTotal ? orderRepository.count(filter) : null;
+
+        return new CursorPageResponse<>(orderResponses, size, nextCursor, hasNext, totalElements);
+    }
+
+    private Specification<Order> buildAdminOrderSpecification(String keyword, String status, UUID userId,
+                                                              LocalDateTime startDate, LocalDateTime endDate) {
         Specification<Order> spec = Specification.where(null);
 
         if (keyword != null && !keyword.isEmpty()) {
@@ -387,30 +482,35 @@ public class OrderServiceImpl implements OrderService {
             spec = spec.and((root, query, cb) -> cb.lessThanOrEqualTo(root.get("createdAt"), endDate));
         }
 
-        Sort sorting = Sort.by(Sort.Direction.DESC, "createdAt");
-        if (sort != null && !sort.isEmpty()) {
-            String[] params = sort.split(",");
-            Sort.Direction dir = params.length > 1 && params[1].equalsIgnoreCase("asc")
-                    ? Sort.Direction.ASC : Sort.Direction.DESC;
-            sorting = Sort.by(dir, params[0]);
-        }
+        return spec;
+    }
 
-        Pageable pageable = PageRequest.of(page, size, sorting);
-        Page<Order> orderPage = orderRepository.findAll(spec, pageable);
+    /**
+     * Position of the last row of a page, handed to clients as an opaque token
+     */
+    static class OrderCursor {
+        final LocalDateTime createdAt;
+        final UUID id;
 
-        List<OrderResponse> orderResponses = orderPage.getContent().stream()
-                .map(this::mapToOrderResponse)
-                .collect(Collectors.toList());
+        OrderCursor(LocalDateTime createdAt, UUID id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
 
-        return new PageResponse<>(
-                orderResponses,
-                orderPage.getNumber(),
-                orderPage.getSize(),
-                orderPage.getTotalElements(),
-                orderPage.getTotalPages(),
-                orderPage.isFirst(),
-                orderPage.isLast()
-        );
+        String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static OrderCursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", 2);
+                return new OrderCursor(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+                throw new InvalidOperationException("Invalid pagination cursor");
+            }
+        }
     }
 
     @Override
@@ -430,37 +530,140 @@ public class OrderServiceImpl implements OrderService {
         // Validate status transition
         validateStatusTransition(order.getStatus(), newStatus);
 
+        OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(order);
+
         order.setStatus(newStatus);
         order.setAdminNote(adminNote);
         order.setUpdatedAt(LocalDateTime.now());
 
         Order updatedOrder = orderRepository.save(order);
+        orderDailyStatsService.recordChanged(statsBefore, updatedOrder);
+        userOrderSummaryService.markChanged(updatedOrder);
 
         if (oldStatus != newStatus) {
-            switch (newStatus) {
-                case PAID:
-                    emailService.sendOrderPaidEmail(updatedOrder);
-                    break;
-                case PROCESSING:
-                    emailService.sendOrderProcessingEmail(updatedOrder);
-                    break;
-                case SHIPPING:
-                    emailService.sendOrderShippingEmail(updatedOrder);
-                    break;
-                case DELIVERED:
-                    emailService.sendOrderDeliveredEmail(updatedOrder);
-                    break;
-                case CANCELLED:
-                    emailService.sendOrderCancelledEmail(updatedOrder);
-                    break;
-                default:
-                    break;
-            }
+            outboxService.publish(OutboxEventType.ORDER_STATUS_EMAIL, updatedOrder.getId(), newStatus.name());
         }
 
         return mapToOrderResponse(updatedOrder);
     }
 
+    @Override
+    public BulkOrderStatusResponse updateOrderStatuses(BulkOrderStatusRequest request, UUID adminId) {
+        OrderStatus newStatus;
+        try {
+            newStatus = OrderStatus.valueOf(request.getStatus().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException("Invalid order status: " + request.getStatus());
+        }
+
+        List<UUID> orderIds = request.getOrderIds().stream().distinct().collect(Collectors.toList());
+        if (orderIds.size() > MAX_BULK_STATUS_ORDERS) {
+            throw new InvalidOperationException("At most " + MAX_BULK_STATUS_ORDERS + " orders can be updated at once");
+        }
+
+        List<BulkOrderStatusResponse.OrderStatusResult> results = new ArrayList<>(orderIds.size());
+        List<UUID> updatedIds = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Each chunk commits on its own, so row locks are only held for one chunk at a time
+        for (int from = 0; from < orderIds.size(); from += BULK_STATUS_CHUNK_SIZE) {
+            List<UUID> chunk = orderIds.subList(from, Math.min(from + BULK_STATUS_CHUNK_SIZE, orderIds.size()));
+            transactionTemplate.executeWithoutResult(status ->
+                    updateStatusChunk(chunk, newStatus, request.getAdminNote(), now, results, updatedIds));
+        }
+
+        log.info("Admin {} moved {} of {} orders to {}", adminId, updatedIds.size(), orderIds.size(), newStatus);
+
+        return BulkOrderStatusResponse.builder()
+                .status(newStatus.name())
+                .requested(orderIds.size())
+                .updated(updatedIds.size())
+                .failed(orderIds.size() - updatedIds.size())
+                .results(results)
+                .build();
+    }
+
+    private void updateStatusChunk(List<UUID> chunk, OrderStatus newStatus, String adminNote, LocalDateTime now,
+                                   List<BulkOrderStatusResponse.OrderStatusResult> results, List<UUID> updatedIds) {
+        Map<UUID, Order> orders = orderRepository.lockAllByIdIn(chunk).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        // Transitions are checked in memory, only the accepted orders reach the set-based update
+        List<Order> acceptedOrders = new ArrayList<>();
+        List<UUID> accepted = new ArrayList<>();
+        List<OrderStatsSnapshot> statsBefore = new ArrayList<>();
+        for (UUID orderId : chunk) {
+            Order order = orders.get(orderId);
+            if (order == null) {
+                results.add(statusResult(orderId, null, null, false, "Order not found"));
+                continue;
+            }
+
+            String previousStatus = order.getStatus().name();
+            if (order.getStatus() == newStatus) {
+                results.add(statusResult(orderId, order.getOrderNumber(), previousStatus, false, "Order is already " + newStatus));
+                continue;
+            }
+            try {
+                validateStatusTransition(order.getStatus(), newStatus);
+            } catch (InvalidOperationException e) {
+                results.add(statusResult(orderId, order.getOrderNumber(), previousStatus, false, e.getMessage()));
+                continue;
+            }
+
+            statsBefore.add(orderDailyStatsService.snapshot(order));
+            acceptedOrders.add(order);
+            accepted.add(orderId);
+            results.add(statusResult(orderId, order.getOrderNumber(), previousStatus, true, null));
+        }
+
+        if (!accepted.isEmpty()) {
+            orderRepository.updateStatusByIdIn(accepted, newStatus, adminNote, now);
+            orderDailyStatsService.recordStatusChanges(statsBefore, newStatus);
+            userOrderSummaryService.markChanged(acceptedOrders);
+            // Queued in the chunk's transaction so the emails go out only for committed changes
+            outboxService.publishAll(OutboxEventType.ORDER_STATUS_EMAIL, accepted, newStatus.name());
+            updatedIds.addAll(accepted);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int expireOverdueOrders(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Order> overdue = orderRepository.lockOverdueUnpaid(now, batchSize);
+        if (overdue.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> orderIds = new ArrayList<>(overdue.size());
+        List<OrderStatsSnapshot> statsBefore = new ArrayList<>(overdue.size());
+        for (Order order : overdue) {
+            orderIds.add(order.getId());
+            statsBefore.add(orderDailyStatsService.snapshot(order));
+        }
+
+        inventoryService.restoreStockForOrders(orderIds);
+        orderRepository.cancelByIdIn(orderIds, OrderStatus.CANCELLED, PAYMENT_EXPIRED_REASON, now);
+        orderDailyStatsService.recordStatusChanges(statsBefore, OrderStatus.CANCELLED);
+        userOrderSummaryService.markChanged(overdue);
+        outboxService.publishAll(OutboxEventType.ORDER_STATUS_EMAIL, orderIds, OrderStatus.CANCELLED.name());
+
+        return orderIds.size();
+    }
+
+    private BulkOrderStatusResponse.OrderStatusResult statusResult(UUID orderId, String orderNumber,
+                                                                   String previousStatus, boolean success,
+                                                                   String message) {
+        return BulkOrderStatusResponse.OrderStatusResult.builder()
+                .orderId(orderId)
+                .orderNumber(orderNumber)
+                .previousStatus(previousStatus)
+                .success(success)
+                .message(message)
+                .build();
+    }
+
     private void validateStatusTransition(OrderStatus currentStatus, OrderStatus newStatus) {
         Set<OrderStatus> allowedTransitions;
         switch (currentStatus) {
@@ -490,17 +693,6 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
-    private String generateOrderNumber() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyMMdd");
-        String datePrefix = LocalDateTime.now().format(formatter);
-
-        // Generate random 4-digit number
-        Random random = new Random();
-        int randomNum = 1000 + random.nextInt(9000);
-
-        return "VS" + datePrefix + randomNum;
-    }
-
     private OrderResponse mapToOrderResponse(Order order) {
         List<OrderItemResponse> orderItemResponses = order.getOrderItems().stream()
                 .map(this::mapToOrderItemResponse)
@@ -559,7 +751,7 @@ public class OrderServiceImpl implements OrderService {
 
     @Override
     public OrderDetailResponse getOrderDetails(UUID id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findDetailById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + id));
 
         return mapToOrderDetailResponse(order);
@@ -576,21 +768,38 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOperationException("Cannot update items for delivered or cancelled orders");
         }
 
+        OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(order);
+
         // First, remove all existing items
         orderItemRepository.deleteAll(order.getOrderItems());
         order.getOrderItems().clear();
 
-        // Then add the new items
+        // Then add the new items, loading all referenced products and variants up front
+        Map<UUID, Product> products = productRepository.findAllById(request.getItems().stream()
+                        .map(OrderItemRequest::getProductId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<UUID, ProductVariant> variants = variantRepository.findAllById(request.getItems().stream()
+                        .map(OrderItemRequest::getVariantId)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(ProductVariant::getId, Function.identity()));
+
         BigDecimal totalProductAmount = BigDecimal.ZERO;
+        List<OrderItem> newItems = new ArrayList<>();
 
         for (OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productRepository.findById(itemRequest.getProductId())
-                    .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + itemRequest.getProductId()));
+            Product product = products.get(itemRequest.getProductId());
+            if (product == null) {
+                throw new EntityNotFoundException("Product not found with ID: " + itemRequest.getProductId());
+            }
 
             ProductVariant variant = null;
             if (itemRequest.getVariantId() != null) {
-                variant = variantRepository.findById(itemRequest.getVariantId())
-                        .orElseThrow(() -> new EntityNotFoundException("Product variant not found with ID: " + itemRequest.getVariantId()));
+                variant = variants.get(itemRequest.getVariantId());
+                if (variant == null) {
+                    throw new EntityNotFoundException("Product variant not found with ID: " + itemRequest.getVariantId());
+                }
             }
 
             BigDecimal price;
@@ -620,13 +829,14 @@ public class OrderServiceImpl implements OrderService {
             orderItem.setPriceSnapshot(price);
             orderItem.setQuantity(itemRequest.getQuantity());
             orderItem.setSubtotal(subtotal);
-
-            OrderItem savedOrderItem = orderItemRepository.save(orderItem);
-            order.getOrderItems().add(savedOrderItem);
+            newItems.add(orderItem);
 
             totalProductAmount = totalProductAmount.add(subtotal);
         }
 
+        // Deletes and inserts are flushed as JDBC batches
+        order.getOrderItems().addAll(orderItemRepository.saveAll(newItems));
+
         // Recalculate order totals
         order.setTotalProductAmount(totalProductAmount);
 
@@ -647,6 +857,8 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order updatedOrder = orderRepository.save(order);
+        orderDailyStatsService.recordChanged(statsBefore, updatedOrder);
+        userOrderSummaryService.markChanged(updatedOrder);
         return mapToOrderResponse(updatedOrder);
     }
 
@@ -661,6 +873,8 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOperationException("Cannot add items to delivered or cancelled orders");
         }
 
+        OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(order);
+
         Product product = productRepository.findById(request.getProductId())
                 .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + request.getProductId()));
 
@@ -722,6 +936,8 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order updatedOrder = orderRepository.save(order);
+        orderDailyStatsService.recordChanged(statsBefore, updatedOrder);
+        userOrderSummaryService.markChanged(updatedOrder);
         return mapToOrderResponse(updatedOrder);
     }
 
@@ -736,6 +952,8 @@ public class OrderServiceImpl implements OrderService {
             throw new InvalidOperationException("Cannot remove items from delivered or cancelled orders");
         }
 
+        OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(order);
+
         OrderItem itemToRemove = null;
         for (OrderItem item : order.getOrderItems()) {
             if (item.getId().equals(itemId)) {
@@ -775,41 +993,65 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order updatedOrder = orderRepository.save(order);
+        orderDailyStatsService.recordChanged(statsBefore, updatedOrder);
+        userOrderSummaryService.markChanged(updatedOrder);
         return mapToOrderResponse(updatedOrder);
     }
 
     @Override
-    public Resource exportOrders(String format, String status, LocalDateTime startDate, LocalDateTime endDate) {
-        // Set default dates if not provided
-        LocalDateTime start = startDate != null ? startDate : LocalDate.now().minusMonths(1).atStartOfDay();
-        LocalDateTime end = endDate != null ? endDate : LocalDateTime.now();
+    @Transactional(readOnly = true)
+    public void exportOrders(String format, String status, LocalDateTime startDate, LocalDateTime endDate,
+                             OutputStream outputStream) {
+        exportOrders(format, status, startDate, endDate, outputStream, rows -> { });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportOrders(String format, String status, LocalDateTime startDate, LocalDateTime endDate,
+                             OutputStream outputStream, LongConsumer progressListener) {
+        // Read orders through a forward-only cursor and write each row as it arrives
+        try (Stream<Order> orders = orderRepository.streamForExport(
+                resolveExportStart(startDate),
+                resolveExportEnd(endDate),
+                resolveExportStatuses(status))) {
+            if ("xlsx".equalsIgnoreCase(format) || "excel".equalsIgnoreCase(format)) {
+                generateExcelExport(orders, outputStream, progressListener);
+            } else {
+                // Default to CSV
+                generateCsvExport(orders, outputStream, progressListener);
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countOrdersForExport(String status, LocalDateTime startDate, LocalDateTime endDate) {
+        return orderRepository.countByCreatedAtBetweenAndStatusIn(
+                resolveExportStart(startDate),
+                resolveExportEnd(endDate),
+                resolveExportStatuses(status)
+        );
+    }
 
-        // Create specification for date range
-        Specification<Order> spec = Specification.where((root, query, cb) ->
-                cb.between(root.get("createdAt"), start, end));
+    // Set default dates if not provided
+    private LocalDateTime resolveExportStart(LocalDateTime startDate) {
+        return startDate != null ? startDate : LocalDate.now().minusMonths(1).atStartOfDay();
+    }
 
-        // Add filter for status if provided
+    private LocalDateTime resolveExportEnd(LocalDateTime endDate) {
+        return endDate != null ? endDate : LocalDateTime.now();
+    }
+
+    // Filter by status if provided, an invalid status is ignored
+    private List<OrderStatus> resolveExportStatuses(String status) {
         if (status != null && !status.isEmpty()) {
             try {
-                OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
-                spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), orderStatus));
+                return List.of(OrderStatus.valueOf(status.toUpperCase()));
             } catch (IllegalArgumentException ignored) {
                 // Invalid status, ignore this filter
             }
         }
-
-        // Get all orders matching the criteria
-        List<Order> orders = orderRepository.findAll(spec);
-
-        // Generate export file based on format
-        if ("csv".equalsIgnoreCase(format)) {
-            return generateCsvExport(orders);
-        } else if ("xlsx".equalsIgnoreCase(format) || "excel".equalsIgnoreCase(format)) {
-            return generateExcelExport(orders);
-        } else {
-            // Default to CSV
-            return generateCsvExport(orders);
-        }
+        return List.of(OrderStatus.values());
     }
 
 // Helper methods for the new functionality
@@ -873,21 +1115,17 @@ public class OrderServiceImpl implements OrderService {
                 .build();
     }
 
-    private Resource generateCsvExport(List<Order> orders) {
+    private void generateCsvExport(Stream<Order> orders, OutputStream outputStream, LongConsumer progressListener) {
         try {
-            StringWriter stringWriter = new StringWriter();
-            CSVWriter csvWriter = new CSVWriter(stringWriter);
+            CSVWriter csvWriter = new CSVWriter(
+                    new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
 
             // Write header
-            String[] header = {
-                    "Order Number", "Status", "Customer Name", "Phone", "Address",
-                    "Total Product Amount", "Shipping Fee", "Total Amount",
-                    "Payment Method", "Payment Status", "Created At", "Updated At", "Note"
-            };
-            csvWriter.writeNext(header);
-
-            // Write data
-            for (Order order : orders) {
+            csvWriter.writeNext(EXPORT_HEADERS);
+
+            // Write data, detaching each order once written so the persistence context stays small
+            long[] rowCount = {0};
+            orders.forEach(order -> {
                 String paymentMethod = "";
                 String paymentStatus = "";
 
@@ -914,42 +1152,39 @@ public class OrderServiceImpl implements OrderService {
                 };
 
                 csvWriter.writeNext(row);
-            }
-
-            csvWriter.close();
-
-            // Convert to resource
-            byte[] bytes = stringWriter.toString().getBytes(StandardCharsets.UTF_8);
-            ByteArrayResource resource = new ByteArrayResource(bytes);
+                entityManager.detach(order);
+                progressListener.accept(++rowCount[0]);
+            });
 
-            return resource;
-        } catch (Exception e) {
+            // Flush only, the caller owns the output stream
+            csvWriter.flush();
+        } catch (IOException e) {
             log.error("Error generating CSV export", e);
-            throw new RuntimeException("Failed to generate CSV export", e);
+            throw new UncheckedIOException("Failed to generate CSV export", e);
         }
     }
 
-    private Resource generateExcelExport(List<Order> orders) {
+    private void generateExcelExport(Stream<Order> orders, OutputStream outputStream, LongConsumer progressListener) {
+        // Only a window of rows stays in memory, older rows are flushed to a compressed temp file
+        SXSSFWorkbook workbook = new SXSSFWorkbook(EXCEL_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+
         try {
-            XSSFWorkbook workbook = new XSSFWorkbook();
-            XSSFSheet sheet = workbook.createSheet("Orders");
+            SXSSFSheet sheet = workbook.createSheet("Orders");
+            // Column widths must be tracked while rows are still in the window
+            sheet.trackAllColumnsForAutoSizing();
 
             // Create header row
             Row headerRow = sheet.createRow(0);
-            String[] headers = {
-                    "Order Number", "Status", "Customer Name", "Phone", "Address",
-                    "Total Product Amount", "Shipping Fee", "Total Amount",
-                    "Payment Method", "Payment Status", "Created At", "Updated At", "Note"
-            };
-
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < EXPORT_HEADERS.length; i++) {
                 Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
+                cell.setCellValue(EXPORT_HEADERS[i]);
             }
 
             // Create data rows
             int rowNum = 1;
-            for (Order order : orders) {
+            for (Iterator<Order> iterator = orders.iterator(); iterator.hasNext(); ) {
+                Order order = iterator.next();
                 Row row = sheet.createRow(rowNum++);
 
                 String paymentMethod = "";
@@ -974,25 +1209,25 @@ public class OrderServiceImpl implements OrderService {
                 row.createCell(10).setCellValue(order.getCreatedAt().toString());
                 row.createCell(11).setCellValue(order.getUpdatedAt().toString());
                 row.createCell(12).setCellValue(order.getNote() != null ? order.getNote() : "");
+
+                entityManager.detach(order);
+                progressListener.accept(rowNum - 1);
             }
 
             // Auto-size columns
-            for (int i = 0; i < headers.length; i++) {
+            for (int i = 0; i < EXPORT_HEADERS.length; i++) {
                 sheet.autoSizeColumn(i);
             }
 
-            // Write to bytes
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
             workbook.write(outputStream);
+            outputStream.flush();
             workbook.close();
-
-            // Convert to resource
-            ByteArrayResource resource = new ByteArrayResource(outputStream.toByteArray());
-
-            return resource;
-        } catch (Exception e) {
+        } catch (IOException e) {
             log.error("Error generating Excel export", e);
-            throw new RuntimeException("Failed to generate Excel export", e);
+            throw new UncheckedIOException("Failed to generate Excel export", e);
+        } finally {
+            // Remove the temp file backing the flushed rows
+            workbook.dispose();
         }
     }
 }
\ No newline at end of file
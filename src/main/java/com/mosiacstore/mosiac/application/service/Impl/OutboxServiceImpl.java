@@ -0,0 +1,230 @@
+package com.mosiacstore.mosiac.application.service.Impl;
+
+import com.mosiacstore.mosiac.application.service.AdminNotificationService;
+import com.mosiacstore.mosiac.application.service.OutboxService;
+import com.mosiacstore.mosiac.domain.order.Order;
+import com.mosiacstore.mosiac.domain.order.OrderItem;
+import com.mosiacstore.mosiac.domain.order.OrderStatus;
+import com.mosiacstore.mosiac.domain.outbox.OutboxEvent;
+import com.mosiacstore.mosiac.domain.outbox.OutboxEventStatus;
+import com.mosiacstore.mosiac.domain.outbox.OutboxEventType;
+import com.mosiacstore.mosiac.infrastructure.repository.OrderRepository;
+import com.mosiacstore.mosiac.infrastructure.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@Slf4j
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int MAX_ATTEMPTS = 6;
+    private static final long RETRY_BASE_SECONDS = 30;
+    private static final long MAX_RETRY_DELAY_SECONDS = 3600;
+    private static final long SEND_TIMEOUT_SECONDS = 60;
+    // Claimed events are hidden from other pollers this long; past it a node that died mid-batch is assumed gone
+    private static final long CLAIM_LEASE_SECONDS = SEND_TIMEOUT_SECONDS + 60;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderRepository orderRepository;
+    private final EmailService emailService;
+    private final AdminNotificationService adminNotificationService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readTransaction;
+
+    // Kept below the taskExecutor capacity so a batch never gets its own sends rejected
+    @Value("${outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${outbox.retention-days:7}")
+    private long retentionDays;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             OrderRepository orderRepository,
+                             EmailService emailService,
+                             AdminNotificationService adminNotificationService,
+                             PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderRepository = orderRepository;
+        this.emailService = emailService;
+        this.adminNotificationService = adminNotificationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxEventType type, UUID aggregateId, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setEventType(type);
+        event.setAggregateId(aggregateId);
+        event.setPayload(payload);
+        event.setNextAttemptAt(LocalDateTime.now());
+        outboxEventRepository.save(event);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(OutboxEventType type, Collection<UUID> aggregateIds, String payload) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = new ArrayList<>(aggregateIds.size());
+        for (UUID aggregateId : aggregateIds) {
+            OutboxEvent event = new OutboxEvent();
+            event.setEventType(type);
+            event.setAggregateId(aggregateId);
+            event.setPayload(payload);
+            event.setNextAttemptAt(now);
+            events.add(event);
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    /**
+     * Claims a batch in one short transaction, sends with no transaction or row lock held,
+     * then records the outcomes in a second short transaction
+     */
+    @Override
+    public int dispatchBatch() {
+        List<OutboxEvent> events = transactionTemplate.execute(status -> claimBatch());
+        if (events == null || events.isEmpty()) {
+            return 0;
+        }
+
+        // Start every send first, then wait, so one slow SMTP call does not serialize the batch
+        Map<UUID, CompletableFuture<Void>> sends = new LinkedHashMap<>();
+        for (OutboxEvent event : events) {
+            try {
+                sends.put(event.getId(), dispatch(event));
+            } catch (RuntimeException e) {
+                sends.put(event.getId(), CompletableFuture.failedFuture(e));
+            }
+        }
+
+        // One deadline for the whole batch keeps the wait inside the claim lease
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SEND_TIMEOUT_SECONDS);
+        Map<UUID, Throwable> failures = new LinkedHashMap<>();
+        sends.forEach((eventId, send) -> {
+            try {
+                send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failures.put(eventId, e);
+            } catch (ExecutionException e) {
+                failures.put(eventId, e.getCause() != null ? e.getCause() : e);
+            } catch (TimeoutException e) {
+                failures.put(eventId, e);
+            }
+        });
+
+        transactionTemplate.executeWithoutResult(status -> recordOutcomes(sends.keySet(), failures));
+        return events.size();
+    }
+
+    @Override
+    @Transactional
+    public int purgeDispatched() {
+        return outboxEventRepository.deleteByStateAndDispatchedAtBefore(
+                OutboxEventStatus.DISPATCHED, LocalDateTime.now().minusDays(retentionDays));
+    }
+
+    // SKIP LOCKED keeps concurrent pollers apart, pushing next_attempt_at out keeps them apart after commit
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.claimDue(now, batchSize);
+        LocalDateTime leaseEnd = now.plusSeconds(CLAIM_LEASE_SECONDS);
+        events.forEach(event -> event.setNextAttemptAt(leaseEnd));
+        return events;
+    }
+
+    private void recordOutcomes(Collection<UUID> eventIds, Map<UUID, Throwable> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (OutboxEvent event : outboxEventRepository.findAllById(eventIds)) {
+            Throwable failure = failures.get(event.getId());
+            if (failure != null) {
+                scheduleRetry(event, failure);
+            } else {
+                event.setState(OutboxEventStatus.DISPATCHED);
+                event.setDispatchedAt(now);
+                event.setLastError(null);
+            }
+        }
+    }
+
+    private CompletableFuture<Void> dispatch(OutboxEvent event) {
+        Order order = readTransaction.execute(status -> loadForSending(event.getAggregateId()));
+        if (order == null) {
+            log.warn("Dropping outbox event {}, order {} no longer exists", event.getId(), event.getAggregateId());
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return switch (event.getEventType()) {
+            case ORDER_CONFIRMATION_EMAIL -> emailService.sendOrderConfirmationEmail(order);
+            case ADMIN_NEW_ORDER_NOTIFICATION -> adminNotificationService.notifyNewOrder(order);
+            case ORDER_STATUS_EMAIL -> switch (OrderStatus.valueOf(event.getPayload())) {
+                case PAID -> emailService.sendOrderPaidEmail(order);
+                case PROCESSING -> emailService.sendOrderProcessingEmail(order);
+                case SHIPPING -> emailService.sendOrderShippingEmail(order);
+                case DELIVERED -> emailService.sendOrderDeliveredEmail(order);
+                case CANCELLED -> emailService.sendOrderCancelledEmail(order);
+                default -> CompletableFuture.completedFuture(null);
+            };
+        };
+    }
+
+    /**
+     * Loads everything the email templates and admin notifications read, so the senders get a detached order
+     * that never lazy-loads from their own threads
+     */
+    private Order loadForSending(UUID orderId) {
+        Order order = orderRepository.findDetailById(orderId).orElse(null);
+        if (order == null) {
+            return null;
+        }
+        Hibernate.initialize(order.getPayments());
+        Hibernate.initialize(order.getShippingAddress());
+        for (OrderItem item : order.getOrderItems()) {
+            Hibernate.initialize(item.getProduct());
+            Hibernate.initialize(item.getProduct().getImages());
+            Hibernate.initialize(item.getVariant());
+        }
+        return order;
+    }
+
+    private void scheduleRetry(OutboxEvent event, Throwable error) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(truncate(error.getClass().getSimpleName() + ": " + error.getMessage()));
+
+        if (attempts >= MAX_ATTEMPTS) {
+            event.setState(OutboxEventStatus.FAILED);
+            log.error("Outbox event {} ({}) failed after {} attempts", event.getId(), event.getEventType(), attempts, error);
+            return;
+        }
+
+        long delay = Math.min(RETRY_BASE_SECONDS << (attempts - 1), MAX_RETRY_DELAY_SECONDS);
+        event.setNextAttemptAt(LocalDateTime.now().plusSeconds(delay));
+        log.warn("Outbox event {} ({}) failed, retrying in {}s: {}", event.getId(), event.getEventType(), delay, error.getMessage());
+    }
+
+    private String truncate(String message) {
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
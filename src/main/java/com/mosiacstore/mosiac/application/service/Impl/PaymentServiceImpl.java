@@ -4,7 +4,10 @@ import com.mosiacstore.mosiac.application.dto.request.PaymentConfirmationRequest
 import com.mosiacstore.mosiac.application.dto.response.PaymentResponse;
 import com.mosiacstore.mosiac.application.exception.EntityNotFoundException;
 import com.mosiacstore.mosiac.application.exception.InvalidOperationException;
+import com.mosiacstore.mosiac.application.service.OrderDailyStatsService;
 import com.mosiacstore.mosiac.application.service.PaymentService;
+import com.mosiacstore.mosiac.application.service.UserOrderSummaryService;
+import com.mosiacstore.mosiac.domain.analytics.OrderStatsSnapshot;
 import com.mosiacstore.mosiac.domain.order.Order;
 import com.mosiacstore.mosiac.domain.order.OrderStatus;
 import com.mosiacstore.mosiac.domain.payment.Payment;
@@ -29,6 +32,8 @@ public class PaymentServiceImpl implements PaymentService {
     private final PaymentRepository paymentRepository;
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
+    private final OrderDailyStatsService orderDailyStatsService;
+    private final UserOrderSummaryService userOrderSummaryService;
 
     @Override
     public PaymentResponse getPaymentByOrderId(UUID orderId) {
@@ -77,6 +82,36 @@ public class PaymentServiceImpl implements PaymentService {
         return mapToPaymentResponse(updatedPayment);
     }
 
+    @Override
+    @Transactional
+    public boolean handleVNPayResult(String orderNumber, String responseCode, String transactionNo) {
+        Order order = orderRepository.findByOrderNumber(orderNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Order not found with number: " + orderNumber));
+
+        Payment payment = paymentRepository.findByOrderId(order.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Payment not found for order with ID: " + order.getId()));
+
+        if (!"00".equals(responseCode)) {
+            payment.setStatus(PaymentStatus.FAILED);
+            payment.setPaymentNote("VNPay error: " + responseCode);
+            paymentRepository.save(payment);
+            return false;
+        }
+
+        payment.setStatus(PaymentStatus.COMPLETED);
+        payment.setTransactionReference(transactionNo);
+        payment.setPaymentDate(LocalDateTime.now());
+        paymentRepository.save(payment);
+
+        // Rollup and summary deltas commit together with the status change
+        OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(order);
+        order.setStatus(OrderStatus.PROCESSING);
+        orderRepository.save(order);
+        orderDailyStatsService.recordChanged(statsBefore, order);
+        userOrderSummaryService.markChanged(order);
+        return true;
+    }
+
     @Override
     @Transactional
     public PaymentResponse validatePayment(UUID paymentId, boolean isValid, String adminNote, UUID adminId) {
@@ -92,6 +127,8 @@ public class PaymentServiceImpl implements PaymentService {
             throw new InvalidOperationException("Payment is already processed");
         }
 
+        OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(order);
+
         if (isValid) {
             // Mark payment as completed
             payment.setStatus(PaymentStatus.COMPLETED);
@@ -109,6 +146,8 @@ public class PaymentServiceImpl implements PaymentService {
         }
 
         orderRepository.save(order);
+        orderDailyStatsService.recordChanged(statsBefore, order);
+        userOrderSummaryService.markChanged(order);
         Payment updatedPayment = paymentRepository.save(payment);
         return mapToPaymentResponse(updatedPayment);
     }
@@ -153,9 +192,12 @@ public class PaymentServiceImpl implements PaymentService {
 
         // Update order status to cancelled
         Order order = payment.getOrder();
+        OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(order);
         order.setStatus(OrderStatus.CANCELLED);
         order.setCancelledReason("Payment refunded: " + reason);
         orderRepository.save(order);
+        orderDailyStatsService.recordChanged(statsBefore, order);
+        userOrderSummaryService.markChanged(order);
 
         Payment updatedPayment = paymentRepository.save(payment);
         return mapToPaymentResponse(updatedPayment);
@@ -4,8 +4,10 @@ import com.mosiacstore.mosiac.application.dto.request.ProductRequest;
 import com.mosiacstore.mosiac.application.dto.request.ProductVariantRequest;
 import com.mosiacstore.mosiac.application.dto.request.QRCodeRequest;
 import com.mosiacstore.mosiac.application.dto.response.PageResponse;
+import com.mosiacstore.mosiac.application.dto.response.ProductFacetsResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductImageResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductResponse;
+import com.mosiacstore.mosiac.application.dto.response.ProductSuggestionResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductVariantResponse;
 import com.mosiacstore.mosiac.application.exception.EntityNotFoundException;
 import com.mosiacstore.mosiac.application.exception.InvalidOperationException;
@@ -18,32 +20,50 @@ import com.mosiacstore.mosiac.domain.qrcode.QRCode;
 import com.mosiacstore.mosiac.domain.qrcode.QRScan;
 import com.mosiacstore.mosiac.domain.region.Region;
 import com.mosiacstore.mosiac.infrastructure.repository.*;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.ProductFacetAggregate;
 import com.mosiacstore.mosiac.infrastructure.service.MinioService;
+import com.mosiacstore.mosiac.infrastructure.service.ProductResponseCache;
+import com.mosiacstore.mosiac.infrastructure.service.ProductSuggestIndex;
+import com.mosiacstore.mosiac.infrastructure.service.ProductViewCounter;
 import com.mosiacstore.mosiac.infrastructure.service.StorageServiceDelegate;
 import com.mosiacstore.mosiac.infrastructure.util.MockMultipartFile;
 import com.mosiacstore.mosiac.infrastructure.util.QRCodeGenerator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.awt.image.BufferedImage;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ProductServiceImpl implements ProductService {
+
+    // Keyword search mode that keeps the old substring match on name and description
+    private static final String SEARCH_MODE_CONTAINS = "contains";
+
+    private static final int MAX_SUGGESTIONS = 20;
+
     private final ProductRepository productRepository;
     private final ProductCategoryRepository categoryRepository;
     private final RegionRepository regionRepository;
@@ -55,11 +75,25 @@ public class ProductServiceImpl implements ProductService {
     private final ProductMapper productMapper;
     private final StorageServiceDelegate storageServiceDelegate;
     private final SlugService slugService;
+    private final ProductResponseCache productResponseCache;
+    private final ProductViewCounter productViewCounter;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    // Upper bounds of the price bands counted for the listing facets
+    @Value("${product-facets.price-bands:100000,200000,500000,1000000,2000000}")
+    private List<BigDecimal> priceBands;
 
     @Override
     public PageResponse<ProductResponse> getProducts(
             String keyword, UUID categoryId, UUID regionId, Double minPrice, Double maxPrice,
-            Boolean featured, Boolean active, int page, int size, String sort) {
+            Boolean featured, Boolean active, int page, int size, String sort, String searchMode) {
+        Sort requestedSort = parseSort(sort);
+        if (keyword != null && !keyword.isBlank() && !SEARCH_MODE_CONTAINS.equalsIgnoreCase(searchMode)) {
+            return searchProducts(keyword, categoryId, regionId, minPrice, maxPrice, featured, active,
+                    PageRequest.of(page, size, requestedSort));
+        }
+
         Specification<Product> spec = Specification.where(null);
         if (keyword != null && !keyword.isEmpty()) {
             spec = spec.and((root, query, cb) -> cb.or(
@@ -84,13 +118,7 @@ public class ProductServiceImpl implements ProductService {
         if (active != null) {
             spec = spec.and((root, query, cb) -> cb.equal(root.get("active"), active));
         }
-        Sort sorting = Sort.by(Sort.Direction.DESC, "createdAt");
-        if (sort != null && !sort.isEmpty()) {
-            String[] sortParams = sort.split(",");
-            Sort.Direction direction = sortParams.length > 1 && sortParams[1].equalsIgnoreCase("asc")
-                    ? Sort.Direction.ASC : Sort.Direction.DESC;
-            sorting = Sort.by(direction, sortParams[0]);
-        }
+        Sort sorting = requestedSort.isSorted() ? requestedSort : Sort.by(Sort.Direction.DESC, "createdAt");
         Pageable pageable = PageRequest.of(page, size, sorting);
         Page<Product> productPage = productRepository.findAll(spec, pageable);
         List<ProductResponse> productResponses = productMapper.toProductResponseList(productPage.getContent());
@@ -105,22 +133,124 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
+    @Override
+    public ProductFacetsResponse getProductFacets(
+            String keyword, UUID categoryId, UUID regionId, Double minPrice, Double maxPrice,
+            Boolean featured, Boolean active, String searchMode) {
+        List<BigDecimal> bands = priceBands.stream().distinct().sorted().toList();
+        List<ProductFacetAggregate> aggregates = productRepository.countFacets(
+                keyword, !SEARCH_MODE_CONTAINS.equalsIgnoreCase(searchMode),
+                categoryId, regionId, minPrice, maxPrice, featured, active, bands);
+
+        Map<String, List<ProductFacetAggregate>> byFacet = aggregates.stream()
+                .collect(Collectors.groupingBy(ProductFacetAggregate::getFacet));
+
+        // Every band is listed, empty ones with a zero count, so the sidebar keeps a stable layout
+        Map<String, Long> bandCounts = byFacet.getOrDefault(ProductFacetAggregate.PRICE, List.of()).stream()
+                .collect(Collectors.toMap(ProductFacetAggregate::getValue, ProductFacetAggregate::getCount));
+        List<ProductFacetsResponse.PriceBandCount> priceBandCounts = new ArrayList<>();
+        for (int band = 0; band <= bands.size(); band++) {
+            priceBandCounts.add(ProductFacetsResponse.PriceBandCount.builder()
+                    .minPrice(band > 0 ? bands.get(band - 1) : null)
+                    .maxPrice(band < bands.size() ? bands.get(band) : null)
+                    .count(bandCounts.getOrDefault(String.valueOf(band), 0L))
+                    .build());
+        }
+
+        return ProductFacetsResponse.builder()
+                .categories(toFacetCounts(byFacet.get(ProductFacetAggregate.CATEGORY)))
+                .regions(toFacetCounts(byFacet.get(ProductFacetAggregate.REGION)))
+                .priceBands(priceBandCounts)
+                .featured(toFacetCounts(byFacet.get(ProductFacetAggregate.FEATURED)))
+                .build();
+    }
+
+    private static List<ProductFacetsResponse.FacetCount> toFacetCounts(List<ProductFacetAggregate> aggregates) {
+        if (aggregates == null) {
+            return List.of();
+        }
+        return aggregates.stream()
+                .sorted(Comparator.comparingLong(ProductFacetAggregate::getCount).reversed())
+                .map(aggregate -> ProductFacetsResponse.FacetCount.builder()
+                        .value(aggregate.getValue())
+                        .label(aggregate.getLabel())
+                        .count(aggregate.getCount())
+                        .build())
+                .toList();
+    }
+
+    // "property" or "property,asc|desc"; unsorted when the caller gave no sort
+    private static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.unsorted();
+        }
+        String[] sortParams = sort.split(",");
+        Sort.Direction direction = sortParams.length > 1 && sortParams[1].trim().equalsIgnoreCase("asc")
+                ? Sort.Direction.ASC : Sort.Direction.DESC;
+        return Sort.by(direction, sortParams[0].trim());
+    }
+
+    // Full-text search: ids come back ranked, or in the caller's sort when one was given; the page is loaded in one query
+    private PageResponse<ProductResponse> searchProducts(
+            String keyword, UUID categoryId, UUID regionId, Double minPrice, Double maxPrice,
+            Boolean featured, Boolean active, Pageable pageable) {
+        Page<UUID> idPage = productRepository.fullTextSearch(
+                keyword, categoryId, regionId, minPrice, maxPrice, featured, active, pageable);
+
+        List<Product> rankedProducts = new ArrayList<>();
+        if (idPage.hasContent()) {
+            Map<UUID, Product> productsById = productRepository.findWithCategoryAndRegionByIdIn(idPage.getContent()).stream()
+                    .collect(Collectors.toMap(Product::getId, Function.identity()));
+            for (UUID id : idPage.getContent()) {
+                Product product = productsById.get(id);
+                if (product != null) {
+                    rankedProducts.add(product);
+                }
+            }
+        }
+
+        return new PageResponse<>(
+                productMapper.toProductResponseList(rankedProducts),
+                idPage.getNumber(),
+                idPage.getSize(),
+                idPage.getTotalElements(),
+                idPage.getTotalPages(),
+                idPage.isFirst(),
+                idPage.isLast()
+        );
+    }
+
+    // Not transactional, so a cache hit never opens a transaction or takes a connection
     @Override
     public ProductResponse getProductById(UUID id) {
-        Product product = productRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + id));
-        product.setViewCount(product.getViewCount() + 1);
-        productRepository.save(product);
-        return productMapper.toProductResponse(product);
+        ProductResponse cached = productResponseCache.getById(id);
+        if (cached == null) {
+            cached = loadAndCache(() -> productRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found with ID: " + id)));
+        }
+        productViewCounter.record(cached.getId());
+        return cached;
     }
 
     @Override
     public ProductResponse getProductBySlug(String slug) {
-        Product product = productRepository.findBySlug(slug)
-                .orElseThrow(() -> new EntityNotFoundException("Product not found with slug: " + slug));
-        product.setViewCount(product.getViewCount() + 1);
-        productRepository.save(product);
-        return productMapper.toProductResponse(product);
+        ProductResponse cached = productResponseCache.getBySlug(slug);
+        if (cached == null) {
+            cached = loadAndCache(() -> productRepository.findBySlug(slug)
+                    .orElseThrow(() -> new EntityNotFoundException("Product not found with slug: " + slug)));
+        }
+        productViewCounter.record(cached.getId());
+        return cached;
+    }
+
+    // Loads and maps a cache miss in its own read-only transaction
+    private ProductResponse loadAndCache(Supplier<Product> loader) {
+        long generation = productResponseCache.generation();
+        TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        ProductResponse response = readTransaction.execute(status -> productMapper.toProductResponse(loader.get()));
+        productResponseCache.put(response, generation);
+        return response;
     }
 
     @Override
@@ -146,6 +276,7 @@ public class ProductServiceImpl implements ProductService {
         if (product.getActive() == null) product.setActive(true);
         if (product.getFeatured() == null) product.setFeatured(false);
         Product savedProduct = productRepository.save(product);
+        productSuggestIndex.reindex(savedProduct.getId());
         return productMapper.toProductResponse(savedProduct);
     }
 
@@ -172,6 +303,8 @@ public class ProductServiceImpl implements ProductService {
         }
         product.setUpdatedAt(LocalDateTime.now());
         Product updatedProduct = productRepository.save(product);
+        productResponseCache.evict(id);
+        productSuggestIndex.reindex(id);
         return productMapper.toProductResponse(updatedProduct);
     }
 
@@ -191,6 +324,8 @@ public class ProductServiceImpl implements ProductService {
             }
         }
         productRepository.delete(product);
+        productResponseCache.evict(id);
+        productSuggestIndex.reindex(id);
     }
 
     @Transactional
@@ -227,6 +362,7 @@ public class ProductServiceImpl implements ProductService {
                 throw new RuntimeException("Failed to upload image: " + file.getOriginalFilename(), e);
             }
         }
+        productResponseCache.evict(productId);
         return savedImages.stream()
                 .map(productMapper::toProductImageResponse)
                 .collect(Collectors.toList());
@@ -255,6 +391,7 @@ public class ProductServiceImpl implements ProductService {
             }
         }
         imageRepository.delete(image);
+        productResponseCache.evict(image.getProduct().getId());
     }
 
     @Override
@@ -265,6 +402,7 @@ public class ProductServiceImpl implements ProductService {
         product.setFeatured(featured);
         product.setUpdatedAt(LocalDateTime.now());
         Product updatedProduct = productRepository.save(product);
+        productResponseCache.evict(id);
         return productMapper.toProductResponse(updatedProduct);
     }
 
@@ -304,6 +442,7 @@ public class ProductServiceImpl implements ProductService {
         }
 
         ProductVariant savedVariant = variantRepository.save(variant);
+        productResponseCache.evict(productId);
         return productMapper.toProductVariantResponse(savedVariant);
     }
 
@@ -351,6 +490,7 @@ public class ProductServiceImpl implements ProductService {
         variant.setUpdatedAt(LocalDateTime.now());
 
         ProductVariant updatedVariant = variantRepository.save(variant);
+        productResponseCache.evict(variant.getProduct().getId());
         return productMapper.toProductVariantResponse(updatedVariant);
     }
 
@@ -360,6 +500,7 @@ public class ProductServiceImpl implements ProductService {
         ProductVariant variant = variantRepository.findById(variantId)
                 .orElseThrow(() -> new EntityNotFoundException("Product variant not found with ID: " + variantId));
         variantRepository.delete(variant);
+        productResponseCache.evict(variant.getProduct().getId());
     }
 
     @Override
@@ -378,6 +519,14 @@ public class ProductServiceImpl implements ProductService {
         );
     }
 
+    @Override
+    public List<ProductSuggestionResponse> suggestProducts(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return productSuggestIndex.suggest(query, Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+    }
+
     @Override
     @Transactional
     public ProductResponse generateQRCode(UUID productId, QRCodeRequest request) {
@@ -421,6 +570,7 @@ public class ProductServiceImpl implements ProductService {
             product.setUpdatedAt(LocalDateTime.now());
 
             Product savedProduct = productRepository.save(product);
+            productResponseCache.evict(productId);
             return productMapper.toProductResponse(savedProduct);
 
         } catch (Exception e) {
@@ -452,6 +602,7 @@ public class ProductServiceImpl implements ProductService {
         product.setUpdatedAt(LocalDateTime.now());
 
         Product savedProduct = productRepository.save(product);
+        productResponseCache.evict(productId);
         return productMapper.toProductResponse(savedProduct);
     }
 
@@ -481,6 +632,7 @@ public class ProductServiceImpl implements ProductService {
         qrCodeRepository.delete(qrCode);
 
         productRepository.save(product);
+        productResponseCache.evict(productId);
     }
 
     @Override
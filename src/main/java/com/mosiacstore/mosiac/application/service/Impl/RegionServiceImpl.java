@@ -10,6 +10,8 @@ import com.mosiacstore.mosiac.application.service.RegionService;
 import com.mosiacstore.mosiac.application.service.SlugService;
 import com.mosiacstore.mosiac.domain.region.Region;
 import com.mosiacstore.mosiac.infrastructure.repository.RegionRepository;
+import com.mosiacstore.mosiac.infrastructure.service.ProductResponseCache;
+import com.mosiacstore.mosiac.infrastructure.service.ProductSuggestIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -29,6 +31,8 @@ public class RegionServiceImpl implements RegionService {
     private final RegionRepository regionRepository;
     private final RegionMapper regionMapper;
     private final SlugService slugService;
+    private final ProductResponseCache productResponseCache;
+    private final ProductSuggestIndex productSuggestIndex;
 
     @Override
     public PageResponse<RegionResponse> getRegions(int page, int size, String sort) {
@@ -96,6 +100,9 @@ public class RegionServiceImpl implements RegionService {
         regionMapper.updateRegionFromRequest(request, reg);
         reg.setUpdatedAt(LocalDateTime.now());
         Region updated = regionRepository.save(reg);
+        // Cached product responses embed the region name and slug, suggestions its name
+        productResponseCache.evictAll();
+        productSuggestIndex.rebuild();
         return regionMapper.toRegionResponse(updated);
     }
 
@@ -1,10 +1,9 @@
 package com.mosiacstore.mosiac.application.service.Impl;
 
 import com.mosiacstore.mosiac.application.service.SlugService;
+import com.mosiacstore.mosiac.infrastructure.util.TextNormalizer;
 import org.springframework.stereotype.Service;
 
-import java.text.Normalizer;
-import java.util.Locale;
 import java.util.regex.Pattern;
 
 @Service
@@ -24,11 +23,9 @@ public class SlugServiceImpl implements SlugService {
             return "";
         }
 
-        String nowhitespace = WHITESPACE.matcher(input).replaceAll("-");
-        String normalized = Normalizer.normalize(nowhitespace, Normalizer.Form.NFD);
-        String slug = NONLATIN.matcher(normalized).replaceAll("");
-        slug = EDGESDHASHES.matcher(slug).replaceAll("");
-
-        return slug.toLowerCase(Locale.ENGLISH);
+        String folded = TextNormalizer.fold(input);
+        String nowhitespace = WHITESPACE.matcher(folded).replaceAll("-");
+        String slug = NONLATIN.matcher(nowhitespace).replaceAll("");
+        return EDGESDHASHES.matcher(slug).replaceAll("");
     }
 }
\ No newline at end of file
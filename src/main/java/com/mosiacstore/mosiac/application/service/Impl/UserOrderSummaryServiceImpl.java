@@ -0,0 +1,129 @@
+package com.mosiacstore.mosiac.application.service.Impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mosiacstore.mosiac.application.dto.response.UserOrderSummaryResponse;
+import com.mosiacstore.mosiac.application.service.UserOrderSummaryService;
+import com.mosiacstore.mosiac.domain.order.Order;
+import com.mosiacstore.mosiac.domain.order.OrderStatus;
+import com.mosiacstore.mosiac.domain.order.UserOrderSummary;
+import com.mosiacstore.mosiac.infrastructure.repository.UserOrderSummaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserOrderSummaryServiceImpl implements UserOrderSummaryService {
+
+    private static final TypeReference<List<UserOrderSummaryResponse.OrderHeader>> HEADER_LIST =
+            new TypeReference<>() {};
+
+    private final UserOrderSummaryRepository userOrderSummaryRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserOrderSummaryResponse getSummary(UUID userId) {
+        UserOrderSummary summary = userOrderSummaryRepository.findById(userId).orElse(null);
+        if (summary == null) {
+            summary = new UserOrderSummary();
+            summary.setUserId(userId);
+        }
+
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        statusCounts.put(OrderStatus.PENDING_PAYMENT.name(), summary.getPendingPaymentCount());
+        statusCounts.put(OrderStatus.PAID.name(), summary.getPaidCount());
+        statusCounts.put(OrderStatus.PROCESSING.name(), summary.getProcessingCount());
+        statusCounts.put(OrderStatus.SHIPPING.name(), summary.getShippingCount());
+        statusCounts.put(OrderStatus.DELIVERED.name(), summary.getDeliveredCount());
+        statusCounts.put(OrderStatus.CANCELLED.name(), summary.getCancelledCount());
+
+        return UserOrderSummaryResponse.builder()
+                .orderCount(summary.getOrderCount())
+                .statusCounts(statusCounts)
+                .totalSpent(summary.getTotalSpent() != null ? summary.getTotalSpent() : BigDecimal.ZERO)
+                .lastOrderAt(summary.getLastOrderAt())
+                .recentOrders(readHeaders(summary))
+                .updatedAt(summary.getUpdatedAt())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void markChanged(Order order) {
+        if (order.getUser() != null) {
+            pendingUserIds().add(order.getUser().getId());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markChanged(Collection<Order> orders) {
+        Set<UUID> pending = pendingUserIds();
+        for (Order order : orders) {
+            if (order.getUser() != null) {
+                pending.add(order.getUser().getId());
+            }
+        }
+    }
+
+    /**
+     * Users touched by the current transaction. The first call registers a
+     * before-commit hook, so several changes to one user's orders cost one refresh
+     */
+    @SuppressWarnings("unchecked")
+    private Set<UUID> pendingUserIds() {
+        Set<UUID> pending = (Set<UUID>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+
+        Set<UUID> userIds = new HashSet<>();
+        TransactionSynchronizationManager.bindResource(this, userIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                refresh(userIds);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(UserOrderSummaryServiceImpl.this);
+            }
+        });
+        return userIds;
+    }
+
+    private void refresh(Set<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        // Waits for other transactions refreshing the same users, so the recompute below reads their committed orders
+        userOrderSummaryRepository.lockUsers(userIds);
+        userOrderSummaryRepository.refresh(userIds, UserOrderSummary.RECENT_ORDER_LIMIT);
+    }
+
+    private List<UserOrderSummaryResponse.OrderHeader> readHeaders(UserOrderSummary summary) {
+        try {
+            return objectMapper.readValue(summary.getRecentOrders(), HEADER_LIST);
+        } catch (JsonProcessingException e) {
+            log.error("Unreadable recent orders in summary of user {}", summary.getUserId(), e);
+            return List.of();
+        }
+    }
+}
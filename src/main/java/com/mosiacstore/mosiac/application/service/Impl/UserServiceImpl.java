@@ -8,6 +8,7 @@ import com.mosiacstore.mosiac.application.dto.response.PageResponse;
 import com.mosiacstore.mosiac.application.exception.EntityNotFoundException;
 import com.mosiacstore.mosiac.application.exception.ResourceConflictException;
 import com.mosiacstore.mosiac.application.mapper.AuthMapper;
+import com.mosiacstore.mosiac.application.service.InventoryService;
 import com.mosiacstore.mosiac.application.service.UserService;
 import com.mosiacstore.mosiac.domain.user.User;
 import com.mosiacstore.mosiac.domain.user.UserRole;
@@ -32,6 +33,7 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final AuthMapper authMapper;
+    private final InventoryService inventoryService;
 
     @Override
     public UserDto getUserProfile(UUID userId) {
@@ -152,6 +154,9 @@ public class UserServiceImpl implements UserService {
         user.setStatus(UserStatus.INACTIVE);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+
+        // An inactive user cannot check out, so give back the stock they were holding
+        inventoryService.releaseReservations(id);
     }
 
     @Override
@@ -0,0 +1,44 @@
+package com.mosiacstore.mosiac.application.service;
+
+import com.mosiacstore.mosiac.application.dto.response.StockReservationResponse;
+import com.mosiacstore.mosiac.domain.cart.CartItem;
+import com.mosiacstore.mosiac.domain.order.OrderItem;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface InventoryService {
+
+    /**
+     * Take the stock of every cart line with one guarded update per variant/product.
+     * Throws InvalidOperationException naming every line that is short, the caller's transaction rolls back the rest
+     */
+    void decrementStock(Collection<CartItem> items);
+
+    /**
+     * Put the stock of the given order lines back
+     */
+    void restoreStock(Collection<OrderItem> items);
+
+    /**
+     * Put back the stock of every line of the given orders with one set-based update per table
+     */
+    void restoreStockForOrders(Collection<UUID> orderIds);
+
+    /**
+     * Hold the stock of the user's cart for the checkout window, replacing any earlier holds of the user
+     */
+    StockReservationResponse reserveCart(UUID userId);
+
+    /**
+     * Give back every hold of the user
+     */
+    void releaseReservations(UUID userId);
+
+    /**
+     * Give back all holds whose window has passed
+     *
+     * @return Number of holds released
+     */
+    int releaseExpiredReservations();
+}
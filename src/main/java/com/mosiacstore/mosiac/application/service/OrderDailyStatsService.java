@@ -0,0 +1,36 @@
+package com.mosiacstore.mosiac.application.service;
+
+import com.mosiacstore.mosiac.domain.analytics.OrderStatsSnapshot;
+import com.mosiacstore.mosiac.domain.order.Order;
+import com.mosiacstore.mosiac.domain.order.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface OrderDailyStatsService {
+
+    /**
+     * Capture the rollup bucket and amount an order currently contributes
+     */
+    OrderStatsSnapshot snapshot(Order order);
+
+    /**
+     * Add a newly placed order to the daily rollup
+     */
+    void recordCreated(Order order);
+
+    /**
+     * Move an order's contribution from a previous snapshot to its current state
+     */
+    void recordChanged(OrderStatsSnapshot before, Order order);
+
+    /**
+     * Move many orders to a new status with one summed delta per rollup row
+     */
+    void recordStatusChanges(List<OrderStatsSnapshot> before, OrderStatus newStatus);
+
+    /**
+     * Recompute the rollup rows of the given days from the orders table
+     */
+    int rebuild(LocalDate startDate, LocalDate endDate);
+}
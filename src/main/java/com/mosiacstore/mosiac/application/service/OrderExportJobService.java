@@ -0,0 +1,29 @@
+package com.mosiacstore.mosiac.application.service;
+
+import com.mosiacstore.mosiac.application.dto.response.ExportJobResponse;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface OrderExportJobService {
+
+    /**
+     * Queue a background order export (admin only)
+     */
+    ExportJobResponse createJob(String format, String status, LocalDateTime startDate, LocalDateTime endDate, UUID adminId);
+
+    /**
+     * Get state, progress and download URL of an export job
+     */
+    ExportJobResponse getJob(UUID id);
+
+    /**
+     * Refresh the heartbeat of the export jobs queued or running on this node
+     */
+    void heartbeat();
+
+    /**
+     * Fail unfinished export jobs whose node stopped refreshing their heartbeat
+     */
+    int failStaleJobs();
+}
@@ -1,16 +1,20 @@
 package com.mosiacstore.mosiac.application.service;
 
+import com.mosiacstore.mosiac.application.dto.request.BulkOrderStatusRequest;
 import com.mosiacstore.mosiac.application.dto.request.CheckoutRequest;
 import com.mosiacstore.mosiac.application.dto.request.OrderItemRequest;
 import com.mosiacstore.mosiac.application.dto.request.UpdateOrderItemsRequest;
+import com.mosiacstore.mosiac.application.dto.response.BulkOrderStatusResponse;
 import com.mosiacstore.mosiac.application.dto.response.CheckoutResponse;
+import com.mosiacstore.mosiac.application.dto.response.CursorPageResponse;
 import com.mosiacstore.mosiac.application.dto.response.OrderDetailResponse;
 import com.mosiacstore.mosiac.application.dto.response.OrderResponse;
 import com.mosiacstore.mosiac.application.dto.response.PageResponse;
-import org.springframework.core.io.Resource;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.function.LongConsumer;
 
 public interface OrderService {
     PageResponse<OrderResponse> getUserOrders(UUID userId, int page, int size, String sort);
@@ -21,8 +25,29 @@ public interface OrderService {
     PageResponse<OrderResponse> getAllOrders(String keyword, String status, UUID userId,
                                              LocalDateTime startDate, LocalDateTime endDate,
                                              int page, int size, String sort);
+
+    /**
+     * Get orders with keyset pagination on (createdAt, id) for admin
+     */
+    CursorPageResponse<OrderResponse> getAllOrdersByCursor(String keyword, String status, UUID userId,
+                                                           LocalDateTime startDate, LocalDateTime endDate,
+                                                           String cursor, int size, String direction,
+                                                           boolean includeTotal);
     OrderResponse updateOrderStatus(UUID id, String status, String adminNote, UUID adminId);
 
+    /**
+     * Cancel one batch of unpaid orders whose payment is overdue and give their stock back
+     *
+     * @return Number of orders cancelled
+     */
+    int expireOverdueOrders(int batchSize);
+
+    /**
+     * Move many orders to one status (admin only), reporting the outcome per order.
+     * Orders are committed in chunks, if a chunk fails the chunks before it stay applied
+     */
+    BulkOrderStatusResponse updateOrderStatuses(BulkOrderStatusRequest request, UUID adminId);
+
 
     /**
      * Get detailed order information for admin
@@ -45,7 +70,18 @@ public interface OrderService {
     OrderResponse removeOrderItem(UUID id, UUID itemId, UUID adminId);
 
     /**
-     * Export orders to file (CSV, Excel, etc.)
+     * Export orders (CSV, Excel, etc.) straight to the given stream
+     */
+    void exportOrders(String format, String status, LocalDateTime startDate, LocalDateTime endDate, OutputStream outputStream);
+
+    /**
+     * Export orders straight to the given stream, reporting the number of rows written so far
+     */
+    void exportOrders(String format, String status, LocalDateTime startDate, LocalDateTime endDate,
+                      OutputStream outputStream, LongConsumer progressListener);
+
+    /**
+     * Count the orders an export with the same filters would contain
      */
-    Resource exportOrders(String format, String status, LocalDateTime startDate, LocalDateTime endDate);
+    long countOrdersForExport(String status, LocalDateTime startDate, LocalDateTime endDate);
 }
\ No newline at end of file
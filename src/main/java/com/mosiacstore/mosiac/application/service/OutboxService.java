@@ -0,0 +1,31 @@
+package com.mosiacstore.mosiac.application.service;
+
+import com.mosiacstore.mosiac.domain.outbox.OutboxEventType;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface OutboxService {
+
+    /**
+     * Record a side effect in the caller's transaction, it is dispatched after commit by the poller
+     */
+    void publish(OutboxEventType type, UUID aggregateId, String payload);
+
+    /**
+     * Record the same side effect for many orders with one batched insert
+     */
+    void publishAll(OutboxEventType type, Collection<UUID> aggregateIds, String payload);
+
+    /**
+     * Claim and dispatch one batch of due events
+     *
+     * @return Number of events claimed
+     */
+    int dispatchBatch();
+
+    /**
+     * Delete dispatched events older than the retention window
+     */
+    int purgeDispatched();
+}
@@ -9,6 +9,9 @@ public interface PaymentService {
     PaymentResponse getPaymentByOrderId(UUID orderId);
     PaymentResponse confirmPayment(PaymentConfirmationRequest request, UUID userId);
 
+    // Applies a verified VNPay callback; returns whether the payment succeeded
+    boolean handleVNPayResult(String orderNumber, String responseCode, String transactionNo);
+
     // Admin functions
     PaymentResponse validatePayment(UUID paymentId, boolean isValid, String adminNote, UUID adminId);
     PaymentResponse markPaymentAsFailed(UUID paymentId, String reason, UUID adminId);
@@ -4,8 +4,10 @@ import com.mosiacstore.mosiac.application.dto.request.ProductRequest;
 import com.mosiacstore.mosiac.application.dto.request.ProductVariantRequest;
 import com.mosiacstore.mosiac.application.dto.request.QRCodeRequest;
 import com.mosiacstore.mosiac.application.dto.response.PageResponse;
+import com.mosiacstore.mosiac.application.dto.response.ProductFacetsResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductImageResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductResponse;
+import com.mosiacstore.mosiac.application.dto.response.ProductSuggestionResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductVariantResponse;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -14,6 +16,11 @@ import java.util.UUID;
 
 public interface ProductService {
 
+    /**
+     * Product listing. A keyword is matched with full-text search unless searchMode is "contains".
+     * An explicit sort ("property" or "property,asc|desc") is always honoured; without one, full-text
+     * results come most relevant first and everything else newest first
+     */
     PageResponse<ProductResponse> getProducts(
             String keyword,
             UUID categoryId,
@@ -24,7 +31,23 @@ public interface ProductService {
             Boolean active,
             int page,
             int size,
-            String sort
+            String sort,
+            String searchMode
+    );
+
+    /**
+     * Counts per category, region, price band and featured flag for the same filters as getProducts,
+     * each facet counted without its own filter
+     */
+    ProductFacetsResponse getProductFacets(
+            String keyword,
+            UUID categoryId,
+            UUID regionId,
+            Double minPrice,
+            Double maxPrice,
+            Boolean featured,
+            Boolean active,
+            String searchMode
     );
 
     ProductResponse getProductById(UUID id);
@@ -62,6 +85,14 @@ public interface ProductService {
 
     PageResponse<ProductResponse> getFeaturedProducts(int page, int size);
 
+    /**
+     * Autocomplete suggestions for a partially typed query, served from the in-memory index
+     *
+     * @param query Words typed so far; accents and case are ignored, the last word may be incomplete
+     * @param limit Maximum number of suggestions, capped at 20
+     */
+    List<ProductSuggestionResponse> suggestProducts(String query, int limit);
+
     /**
      * Generate and associate a QR code for a product
      *
@@ -0,0 +1,25 @@
+package com.mosiacstore.mosiac.application.service;
+
+import com.mosiacstore.mosiac.application.dto.response.UserOrderSummaryResponse;
+import com.mosiacstore.mosiac.domain.order.Order;
+
+import java.util.Collection;
+import java.util.UUID;
+
+public interface UserOrderSummaryService {
+
+    /**
+     * Read the user's summary row, an empty summary when the user has no orders
+     */
+    UserOrderSummaryResponse getSummary(UUID userId);
+
+    /**
+     * Queue the summary of the order's owner for a refresh when the current transaction commits
+     */
+    void markChanged(Order order);
+
+    /**
+     * Queue the summaries of the owners of the given orders, refreshed together at commit
+     */
+    void markChanged(Collection<Order> orders);
+}
@@ -0,0 +1,39 @@
+package com.mosiacstore.mosiac.domain.analytics;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Daily order rollup row (day x status x payment method x province)
+ * Rows are written with atomic delta upserts, never loaded and saved back
+ */
+@Entity
+@Table(name = "order_daily_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderDailyStat {
+
+    // Placeholder dimension values for orders without a payment or province
+    public static final String NO_PAYMENT_METHOD = "NONE";
+    public static final String UNKNOWN_PROVINCE = "UNKNOWN";
+
+    @EmbeddedId
+    private OrderDailyStatId id;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.mosiacstore.mosiac.domain.analytics;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * The rollup bucket and amount an order contributes at a point in time
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatsSnapshot {
+    private final OrderDailyStatId key;
+    private final BigDecimal amount;
+}
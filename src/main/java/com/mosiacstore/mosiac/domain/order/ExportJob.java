@@ -0,0 +1,62 @@
+package com.mosiacstore.mosiac.domain.order;
+
+import com.mosiacstore.mosiac.domain.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "export_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@AttributeOverride(name = "id", column = @Column(name = "export_job_id", updatable = false, nullable = false, columnDefinition = "UUID"))
+public class ExportJob extends BaseEntity {
+
+    @Column(name = "requested_by", nullable = false)
+    private UUID requestedBy;
+
+    @Column(name = "format", nullable = false, length = 10)
+    private String format;
+
+    @Column(name = "status_filter", length = 30)
+    private String statusFilter;
+
+    @Column(name = "start_date")
+    private LocalDateTime startDate;
+
+    @Column(name = "end_date")
+    private LocalDateTime endDate;
+
+    @Column(name = "state", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private ExportJobStatus state = ExportJobStatus.PENDING;
+
+    @Column(name = "total_rows")
+    private Long totalRows;
+
+    @Column(name = "processed_rows", nullable = false)
+    private Long processedRows = 0L;
+
+    @Column(name = "file_url", length = 512)
+    private String fileUrl;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Node that queued the job and keeps its heartbeat fresh until it finishes
+    @Column(name = "owner_node", length = 100)
+    private String ownerNode;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+}
@@ -0,0 +1,8 @@
+package com.mosiacstore.mosiac.domain.order;
+
+public enum ExportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
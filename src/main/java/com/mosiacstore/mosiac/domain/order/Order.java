@@ -17,6 +17,12 @@ import java.util.Set;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(name = Order.GRAPH_SUMMARY, attributeNodes = @NamedAttributeNode("invoice"))
+@NamedEntityGraph(name = Order.GRAPH_DETAIL, attributeNodes = {
+        @NamedAttributeNode("invoice"),
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("orderItems")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -24,6 +30,11 @@ import java.util.Set;
 @AttributeOverride(name = "id", column = @Column(name = "order_id", updatable = false, nullable = false, columnDefinition = "UUID"))
 public class Order extends BaseEntity {
 
+    // Invoice is the inverse side of a one-to-one and is always loaded, so list queries join it
+    public static final String GRAPH_SUMMARY = "Order.summary";
+    // Fetches a single collection so the join stays one row per item; payments come in a batch-fetch
+    public static final String GRAPH_DETAIL = "Order.detail";
+
     @Column(name = "order_number", unique = true, nullable = false, length = 50)
     private String orderNumber;
 
@@ -69,6 +80,11 @@ public class Order extends BaseEntity {
     @Column(name = "admin_note", columnDefinition = "TEXT")
     private String adminNote;
 
+    // Optimistic lock; bulk and stock updates that bypass the entity bump it as well
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<OrderItem> orderItems = new HashSet<>();
 
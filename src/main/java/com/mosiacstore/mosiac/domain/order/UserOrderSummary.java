@@ -0,0 +1,66 @@
+package com.mosiacstore.mosiac.domain.order;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-user order read model (status counts, amount spent, latest order headers)
+ * Rows are recomputed by UserOrderSummaryRepository.refresh, never loaded and saved back
+ */
+@Entity
+@Table(name = "user_order_summaries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserOrderSummary {
+
+    // Number of order headers kept in recentOrders
+    public static final int RECENT_ORDER_LIMIT = 10;
+
+    @Id
+    @Column(name = "user_id", nullable = false, columnDefinition = "UUID")
+    private UUID userId;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount = 0L;
+
+    @Column(name = "pending_payment_count", nullable = false)
+    private Long pendingPaymentCount = 0L;
+
+    @Column(name = "paid_count", nullable = false)
+    private Long paidCount = 0L;
+
+    @Column(name = "processing_count", nullable = false)
+    private Long processingCount = 0L;
+
+    @Column(name = "shipping_count", nullable = false)
+    private Long shippingCount = 0L;
+
+    @Column(name = "delivered_count", nullable = false)
+    private Long deliveredCount = 0L;
+
+    @Column(name = "cancelled_count", nullable = false)
+    private Long cancelledCount = 0L;
+
+    // Sum over paid, processing, shipping and delivered orders
+    @Column(name = "total_spent", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalSpent = BigDecimal.ZERO;
+
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+
+    // JSON array of the latest order headers, newest first
+    @Column(name = "recent_orders", nullable = false, columnDefinition = "TEXT")
+    private String recentOrders = "[]";
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
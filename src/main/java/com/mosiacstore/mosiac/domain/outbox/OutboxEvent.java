@@ -0,0 +1,48 @@
+package com.mosiacstore.mosiac.domain.outbox;
+
+import com.mosiacstore.mosiac.domain.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@AttributeOverride(name = "id", column = @Column(name = "outbox_event_id", updatable = false, nullable = false, columnDefinition = "UUID"))
+public class OutboxEvent extends BaseEntity {
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    // Id of the order the event is about
+    @Column(name = "aggregate_id", nullable = false)
+    private UUID aggregateId;
+
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "state", nullable = false, length = 20)
+    @Enumerated(EnumType.STRING)
+    private OutboxEventStatus state = OutboxEventStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+}
@@ -0,0 +1,7 @@
+package com.mosiacstore.mosiac.domain.outbox;
+
+public enum OutboxEventStatus {
+    PENDING,
+    DISPATCHED,
+    FAILED
+}
@@ -0,0 +1,10 @@
+package com.mosiacstore.mosiac.domain.outbox;
+
+public enum OutboxEventType {
+    // Order received email to the customer
+    ORDER_CONFIRMATION_EMAIL,
+    // Status email to the customer, payload is the new OrderStatus
+    ORDER_STATUS_EMAIL,
+    // In-app and websocket notification to admins and staff
+    ADMIN_NEW_ORDER_NOTIFICATION
+}
@@ -48,6 +48,10 @@ public class Product extends BaseEntity {
     @Column(name = "stock_quantity")
     private Integer stockQuantity;
 
+    // Maintained by guarded updates only, entity saves never overwrite it
+    @Column(name = "reserved_quantity", nullable = false, insertable = false, updatable = false)
+    private Integer reservedQuantity = 0;
+
     @Column(name = "sku", length = 50)
     private String sku;
 
@@ -61,9 +65,15 @@ public class Product extends BaseEntity {
     @Column(name = "featured")
     private Boolean featured = false;
 
-    @Column(name = "view_count")
+    // Written only by ProductViewCounter flushes, so page views never conflict with admin edits
+    @Column(name = "view_count", updatable = false)
     private Integer viewCount = 0;
 
+    // Optimistic lock; bulk and stock updates that bypass the entity bump it as well
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<ProductVariant> variants = new HashSet<>();
 
@@ -72,4 +82,12 @@ public class Product extends BaseEntity {
 
     @OneToOne(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true)
     private QRCode qrCode;
-}
\ No newline at end of file
+
+    // Stock not held by an active reservation, null when stock is not tracked
+    public Integer getAvailableQuantity() {
+        if (stockQuantity == null) {
+            return null;
+        }
+        return Math.max(stockQuantity - (reservedQuantity != null ? reservedQuantity : 0), 0);
+    }
+}
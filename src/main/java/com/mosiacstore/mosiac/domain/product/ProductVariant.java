@@ -35,9 +35,26 @@ public class ProductVariant extends BaseEntity {
     @Column(name = "stock_quantity")
     private Integer stockQuantity;
 
+    // Maintained by guarded updates only, entity saves never overwrite it
+    @Column(name = "reserved_quantity", nullable = false, insertable = false, updatable = false)
+    private Integer reservedQuantity = 0;
+
     @Column(name = "sku_variant", length = 60)
     private String skuVariant;
 
     @Column(name = "active")
     private Boolean active = true;
-}
\ No newline at end of file
+
+    // Optimistic lock; bulk and stock updates that bypass the entity bump it as well
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Stock not held by an active reservation, null when stock is not tracked
+    public Integer getAvailableQuantity() {
+        if (stockQuantity == null) {
+            return null;
+        }
+        return Math.max(stockQuantity - (reservedQuantity != null ? reservedQuantity : 0), 0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.mosiacstore.mosiac.domain.product;
+
+import com.mosiacstore.mosiac.domain.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "stock_reservations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@AttributeOverride(name = "id", column = @Column(name = "reservation_id", updatable = false, nullable = false, columnDefinition = "UUID"))
+public class StockReservation extends BaseEntity {
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "product_id", nullable = false)
+    private UUID productId;
+
+    // Null when the hold is on a product without variants
+    @Column(name = "variant_id")
+    private UUID variantId;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -40,4 +40,26 @@ public class AsyncConfig {
 
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * Dedicated executor for background order exports
+     * Kept small so long-running exports cannot take threads or connections away from checkout
+     */
+    @Bean(name = "exportExecutor")
+    public ThreadPoolTaskExecutor exportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+        // At most two exports run at the same time
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+
+        // Further requests wait in a short queue and are rejected once it is full
+        executor.setQueueCapacity(10);
+
+        executor.setThreadNamePrefix("MosiacExport-");
+
+        executor.initialize();
+
+        return executor;
+    }
+}
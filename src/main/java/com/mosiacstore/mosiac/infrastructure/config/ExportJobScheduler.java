@@ -0,0 +1,21 @@
+package com.mosiacstore.mosiac.infrastructure.config;
+
+import com.mosiacstore.mosiac.application.service.OrderExportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class ExportJobScheduler {
+
+    private final OrderExportJobService orderExportJobService;
+
+    @Scheduled(fixedDelayString = "${export-jobs.heartbeat-interval-ms:30000}")
+    public void refreshHeartbeats() {
+        orderExportJobService.heartbeat();
+        orderExportJobService.failStaleJobs();
+    }
+}
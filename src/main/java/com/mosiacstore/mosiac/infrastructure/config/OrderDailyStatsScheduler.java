@@ -0,0 +1,29 @@
+package com.mosiacstore.mosiac.infrastructure.config;
+
+import com.mosiacstore.mosiac.application.service.OrderDailyStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.LocalDate;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@Slf4j
+public class OrderDailyStatsScheduler {
+
+    // Number of past days recomputed each night to repair any drift in the rollup
+    private static final int RECONCILE_DAYS = 7;
+
+    private final OrderDailyStatsService orderDailyStatsService;
+
+    @Scheduled(cron = "0 30 1 * * ?") // Run at 1:30 AM every day
+    public void reconcileRecentStats() {
+        LocalDate today = LocalDate.now();
+        log.info("Reconciling order daily stats for the last {} days", RECONCILE_DAYS);
+        orderDailyStatsService.rebuild(today.minusDays(RECONCILE_DAYS), today);
+    }
+}
@@ -0,0 +1,41 @@
+package com.mosiacstore.mosiac.infrastructure.config;
+
+import com.mosiacstore.mosiac.application.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@Slf4j
+public class OrderPaymentExpiryScheduler {
+
+    // Upper bound on batches per run, the rest of a large backlog is picked up by the next run
+    private static final int MAX_BATCHES_PER_RUN = 50;
+
+    private final OrderService orderService;
+
+    @Value("${orders.payment-expiry.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${orders.payment-expiry.interval-ms:300000}")
+    public void cancelOverdueOrders() {
+        int cancelled = 0;
+        // Each batch commits on its own so order and stock rows are only locked briefly
+        for (int batch = 0; batch < MAX_BATCHES_PER_RUN; batch++) {
+            int count = orderService.expireOverdueOrders(batchSize);
+            cancelled += count;
+            if (count < batchSize) {
+                break;
+            }
+        }
+
+        if (cancelled > 0) {
+            log.info("Cancelled {} orders with overdue payment", cancelled);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.mosiacstore.mosiac.infrastructure.config;
+
+import com.mosiacstore.mosiac.application.service.OutboxService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatchScheduler {
+
+    // Upper bound on batches per run so a backlog cannot monopolise the scheduler thread
+    private static final int MAX_BATCHES_PER_RUN = 10;
+
+    private final OutboxService outboxService;
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:2000}")
+    public void dispatchPendingEvents() {
+        int batches = 0;
+        while (batches < MAX_BATCHES_PER_RUN && outboxService.dispatchBatch() > 0) {
+            batches++;
+        }
+    }
+
+    @Scheduled(cron = "0 15 2 * * ?") // Run at 2:15 AM every day
+    public void purgeDispatchedEvents() {
+        int deleted = outboxService.purgeDispatched();
+        log.info("Purged {} dispatched outbox events", deleted);
+    }
+}
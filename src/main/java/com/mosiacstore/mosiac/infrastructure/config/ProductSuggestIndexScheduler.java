@@ -0,0 +1,22 @@
+package com.mosiacstore.mosiac.infrastructure.config;
+
+import com.mosiacstore.mosiac.infrastructure.service.ProductSuggestIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class ProductSuggestIndexScheduler {
+
+    private final ProductSuggestIndex productSuggestIndex;
+
+    // Each node only sees its own writes; a periodic rebuild brings in the changes made on the others
+    @Scheduled(fixedDelayString = "${product-suggest.rebuild-interval-ms:300000}",
+            initialDelayString = "${product-suggest.rebuild-interval-ms:300000}")
+    public void rebuildSuggestIndex() {
+        productSuggestIndex.rebuild();
+    }
+}
@@ -0,0 +1,25 @@
+package com.mosiacstore.mosiac.infrastructure.config;
+
+import com.mosiacstore.mosiac.infrastructure.service.ProductViewCounter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@Slf4j
+public class ProductViewFlushScheduler {
+
+    private final ProductViewCounter productViewCounter;
+
+    @Scheduled(fixedDelayString = "${product-views.flush-interval-ms:30000}")
+    public void flushProductViews() {
+        int flushed = productViewCounter.flush();
+        if (flushed > 0) {
+            log.debug("Flushed page views of {} products", flushed);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.mosiacstore.mosiac.infrastructure.config;
+
+import com.mosiacstore.mosiac.application.service.InventoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationScheduler {
+
+    private final InventoryService inventoryService;
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:60000}")
+    public void releaseExpiredReservations() {
+        int released = inventoryService.releaseExpiredReservations();
+        if (released > 0) {
+            log.info("Released {} expired stock reservations", released);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.order.ExportJob;
+import com.mosiacstore.mosiac.domain.order.ExportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.UUID;
+
+@Repository
+public interface ExportJobRepository extends JpaRepository<ExportJob, UUID> {
+
+    // Runs in its own transaction because the export itself reads inside a read-only one
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE ExportJob j SET j.processedRows = :processedRows, j.updatedAt = :now WHERE j.id = :id")
+    void updateProgress(@Param("id") UUID id,
+                        @Param("processedRows") long processedRows,
+                        @Param("now") LocalDateTime now);
+
+    // Conditional state changes: each returns 0 when another node or the stale sweep changed the job first
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.state = :running, j.totalRows = :totalRows, j.heartbeatAt = :now, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.state = :pending")
+    int claim(@Param("id") UUID id,
+              @Param("pending") ExportJobStatus pending,
+              @Param("running") ExportJobStatus running,
+              @Param("totalRows") long totalRows,
+              @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.state = :completed, j.fileUrl = :fileUrl, j.processedRows = :processedRows, " +
+            "j.completedAt = :now, j.updatedAt = :now WHERE j.id = :id AND j.state = :running")
+    int complete(@Param("id") UUID id,
+                 @Param("running") ExportJobStatus running,
+                 @Param("completed") ExportJobStatus completed,
+                 @Param("fileUrl") String fileUrl,
+                 @Param("processedRows") long processedRows,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.state = :failed, j.errorMessage = :message, j.processedRows = :processedRows, " +
+            "j.completedAt = :now, j.updatedAt = :now WHERE j.id = :id AND j.state IN :unfinished")
+    int failUnfinished(@Param("id") UUID id,
+                       @Param("unfinished") Collection<ExportJobStatus> unfinished,
+                       @Param("failed") ExportJobStatus failed,
+                       @Param("message") String message,
+                       @Param("processedRows") long processedRows,
+                       @Param("now") LocalDateTime now);
+
+    // Jobs this node had queued or running before it restarted can never finish
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.state = :failed, j.errorMessage = :message, j.updatedAt = :now " +
+            "WHERE j.state IN :unfinished AND j.ownerNode = :ownerNode")
+    int failUnfinishedOfNode(@Param("unfinished") Collection<ExportJobStatus> unfinished,
+                             @Param("ownerNode") String ownerNode,
+                             @Param("failed") ExportJobStatus failed,
+                             @Param("message") String message,
+                             @Param("now") LocalDateTime now);
+
+    // Jobs whose node stopped refreshing their heartbeat, on whichever node this runs
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.state = :failed, j.errorMessage = :message, j.updatedAt = :now " +
+            "WHERE j.state IN :unfinished AND (j.heartbeatAt IS NULL OR j.heartbeatAt < :staleBefore)")
+    int failStale(@Param("unfinished") Collection<ExportJobStatus> unfinished,
+                  @Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("failed") ExportJobStatus failed,
+                  @Param("message") String message,
+                  @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ExportJob j SET j.heartbeatAt = :now WHERE j.id IN :ids AND j.state IN :unfinished")
+    int touchHeartbeats(@Param("ids") Collection<UUID> ids,
+                        @Param("unfinished") Collection<ExportJobStatus> unfinished,
+                        @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,87 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.analytics.OrderDailyStat;
+import com.mosiacstore.mosiac.domain.analytics.OrderDailyStatId;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.OrderDimensionAggregate;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.OrderPeriodAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OrderDailyStatRepository extends JpaRepository<OrderDailyStat, OrderDailyStatId> {
+
+    // Atomic increment of one rollup row, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_stats (stat_date, status, payment_method, province_code, order_count, revenue, updated_at) " +
+            "VALUES (:statDate, :status, :paymentMethod, :provinceCode, :countDelta, :revenueDelta, now()) " +
+            "ON CONFLICT (stat_date, status, payment_method, province_code) DO UPDATE SET " +
+            "order_count = order_daily_stats.order_count + EXCLUDED.order_count, " +
+            "revenue = order_daily_stats.revenue + EXCLUDED.revenue, " +
+            "updated_at = now()", nativeQuery = true)
+    void applyDelta(@Param("statDate") LocalDate statDate,
+                    @Param("status") String status,
+                    @Param("paymentMethod") String paymentMethod,
+                    @Param("provinceCode") String provinceCode,
+                    @Param("countDelta") long countDelta,
+                    @Param("revenueDelta") BigDecimal revenueDelta);
+
+    // Held for the rest of the transaction; waits for in-flight order writes and blocks new ones
+    @Modifying
+    @Query(value = "LOCK TABLE order_daily_stats IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query("DELETE FROM OrderDailyStat s WHERE s.id.statDate BETWEEN :startDate AND :endDate")
+    int deleteByStatDateBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_daily_stats (stat_date, status, payment_method, province_code, order_count, revenue, updated_at) " +
+            "SELECT CAST(o.created_at AS DATE), CAST(o.status AS VARCHAR), " +
+            "COALESCE(CAST(p.payment_method AS VARCHAR), 'NONE'), COALESCE(a.province_code, 'UNKNOWN'), " +
+            "COUNT(*), COALESCE(SUM(o.total_amount), 0), now() " +
+            "FROM orders o " +
+            "LEFT JOIN addresses a ON a.address_id = o.shipping_address_id " +
+            "LEFT JOIN LATERAL (SELECT py.payment_method FROM payments py WHERE py.order_id = o.order_id " +
+            "ORDER BY py.created_at, py.payment_id LIMIT 1) p ON TRUE " +
+            "WHERE o.created_at >= :start AND o.created_at < :end " +
+            "GROUP BY 1, 2, 3, 4", nativeQuery = true)
+    int rebuildFromOrders(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query(value = "SELECT to_char(date_trunc(:unit, CAST(s.stat_date AS TIMESTAMP)), 'YYYY-MM-DD') AS bucket, " +
+            "CAST(SUM(s.order_count) AS BIGINT) AS \"orderCount\", COALESCE(SUM(s.revenue), 0) AS \"totalAmount\" " +
+            "FROM order_daily_stats s " +
+            "WHERE s.stat_date BETWEEN :startDate AND :endDate AND s.status IN (:statuses) " +
+            "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<OrderPeriodAggregate> aggregateByPeriod(@Param("unit") String unit,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate,
+                                                 @Param("statuses") Collection<String> statuses);
+
+    @Query(value = "SELECT s.province_code AS dimension, MAX(pr.name) AS label, " +
+            "CAST(SUM(s.order_count) AS BIGINT) AS \"orderCount\", COALESCE(SUM(s.revenue), 0) AS \"totalAmount\" " +
+            "FROM order_daily_stats s " +
+            "LEFT JOIN provinces pr ON pr.code = s.province_code " +
+            "WHERE s.stat_date BETWEEN :startDate AND :endDate AND s.status IN (:statuses) " +
+            "GROUP BY s.province_code", nativeQuery = true)
+    List<OrderDimensionAggregate> aggregateByProvince(@Param("startDate") LocalDate startDate,
+                                                      @Param("endDate") LocalDate endDate,
+                                                      @Param("statuses") Collection<String> statuses);
+
+    @Query(value = "SELECT s.payment_method AS dimension, CAST(NULL AS VARCHAR) AS label, " +
+            "CAST(SUM(s.order_count) AS BIGINT) AS \"orderCount\", COALESCE(SUM(s.revenue), 0) AS \"totalAmount\" " +
+            "FROM order_daily_stats s " +
+            "WHERE s.stat_date BETWEEN :startDate AND :endDate AND s.status IN (:statuses) " +
+            "GROUP BY s.payment_method", nativeQuery = true)
+    List<OrderDimensionAggregate> aggregateByPaymentMethod(@Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate,
+                                                           @Param("statuses") Collection<String> statuses);
+}
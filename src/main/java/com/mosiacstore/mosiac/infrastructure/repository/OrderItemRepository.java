@@ -1,11 +1,29 @@
 package com.mosiacstore.mosiac.infrastructure.repository;
 
 import com.mosiacstore.mosiac.domain.order.OrderItem;
+import com.mosiacstore.mosiac.domain.order.OrderStatus;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.ProductSalesAggregate;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
 
+    // Best sellers by revenue; the pageable only carries the limit
+    @Query("SELECT oi.product.id AS productId, SUM(oi.quantity) AS quantity, SUM(oi.subtotal) AS revenue " +
+            "FROM OrderItem oi JOIN oi.order o " +
+            "WHERE o.createdAt BETWEEN :start AND :end AND o.status IN :statuses " +
+            "GROUP BY oi.product.id " +
+            "ORDER BY SUM(oi.subtotal) DESC")
+    List<ProductSalesAggregate> findTopProductsByRevenue(@Param("start") LocalDateTime start,
+                                                         @Param("end") LocalDateTime end,
+                                                         @Param("statuses") Collection<OrderStatus> statuses,
+                                                         Pageable pageable);
 }
@@ -1,17 +1,155 @@
 package com.mosiacstore.mosiac.infrastructure.repository;
 
 import com.mosiacstore.mosiac.domain.order.Order;
+import com.mosiacstore.mosiac.domain.order.OrderStatus;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.OrderDashboardAggregate;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.OrderDimensionAggregate;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.OrderPeriodAggregate;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, UUID>, JpaSpecificationExecutor<Order> {
+    // Collections of the loaded orders are batch-fetched (hibernate.default_batch_fetch_size)
+    @EntityGraph(Order.GRAPH_SUMMARY)
     Page<Order> findByUserId(UUID userId, Pageable pageable);
+
+    @EntityGraph(Order.GRAPH_SUMMARY)
     Optional<Order> findByOrderNumber(String orderNumber);
-}
\ No newline at end of file
+
+    @Override
+    @EntityGraph(Order.GRAPH_SUMMARY)
+    Optional<Order> findById(UUID id);
+
+    @Override
+    @EntityGraph(Order.GRAPH_SUMMARY)
+    Page<Order> findAll(Specification<Order> spec, Pageable pageable);
+
+    // Everything the admin detail view reads, in one query plus one batch-fetch for the payments
+    @EntityGraph(Order.GRAPH_DETAIL)
+    Optional<Order> findDetailById(UUID id);
+
+    // Start of the next block of order numbers, see OrderNumberGenerator
+    @Query(value = "SELECT nextval('order_number_seq')", nativeQuery = true)
+    long nextOrderNumberBlock();
+
+    // Values per block, the INCREMENT BY of order_number_seq
+    @Query(value = "SELECT increment_by FROM pg_sequences " +
+            "WHERE schemaname = current_schema() AND sequencename = 'order_number_seq'", nativeQuery = true)
+    long orderNumberBlockSize();
+
+    // Rows are locked in id order so two bulk updates cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> lockAllByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.adminNote = COALESCE(:adminNote, o.adminNote), o.updatedAt = :now, o.version = o.version + 1 " +
+            "WHERE o.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<UUID> ids,
+                           @Param("status") OrderStatus status,
+                           @Param("adminNote") String adminNote,
+                           @Param("now") LocalDateTime now);
+
+    // Unpaid orders past their due date; SKIP LOCKED leaves orders being paid or edited to the next run.
+    // COD orders and bank transfers already submitted for admin verification are never expired
+    @Query(value = "SELECT o.* FROM orders o WHERE o.status = 'PENDING_PAYMENT' AND o.payment_due < :now " +
+            "AND NOT EXISTS (SELECT 1 FROM payments py WHERE py.order_id = o.order_id " +
+            "AND (py.payment_method = 'COD' OR (py.status = 'PENDING' AND py.payment_date IS NOT NULL))) " +
+            "ORDER BY o.payment_due LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Order> lockOverdueUnpaid(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.cancelledReason = :reason, o.updatedAt = :now, o.version = o.version + 1 WHERE o.id IN :ids")
+    int cancelByIdIn(@Param("ids") Collection<UUID> ids,
+                     @Param("status") OrderStatus status,
+                     @Param("reason") String reason,
+                     @Param("now") LocalDateTime now);
+
+    long countByCreatedAtBetweenAndStatusIn(LocalDateTime start, LocalDateTime end, Collection<OrderStatus> statuses);
+
+    // Forward-only cursor for exports; payments and invoice are fetched with the order to avoid per-row selects
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.payments LEFT JOIN FETCH o.invoice " +
+            "WHERE o.createdAt BETWEEN :start AND :end AND o.status IN :statuses " +
+            "ORDER BY o.createdAt, o.id")
+    Stream<Order> streamForExport(@Param("start") LocalDateTime start,
+                                  @Param("end") LocalDateTime end,
+                                  @Param("statuses") Collection<OrderStatus> statuses);
+
+    // Group orders into date_trunc buckets (unit: day, week, month, year) without loading entities
+    @Query(value = "SELECT to_char(date_trunc(:unit, o.created_at), 'YYYY-MM-DD') AS bucket, " +
+            "COUNT(*) AS \"orderCount\", COALESCE(SUM(o.total_amount), 0) AS \"totalAmount\" " +
+            "FROM orders o " +
+            "WHERE o.created_at BETWEEN :start AND :end AND CAST(o.status AS VARCHAR) IN (:statuses) " +
+            "GROUP BY 1 ORDER BY 1", nativeQuery = true)
+    List<OrderPeriodAggregate> aggregateByPeriod(@Param("unit") String unit,
+                                                 @Param("start") LocalDateTime start,
+                                                 @Param("end") LocalDateTime end,
+                                                 @Param("statuses") Collection<String> statuses);
+
+    @Query(value = "SELECT COALESCE(a.province_code, 'UNKNOWN') AS dimension, MAX(pr.name) AS label, " +
+            "COUNT(*) AS \"orderCount\", COALESCE(SUM(o.total_amount), 0) AS \"totalAmount\" " +
+            "FROM orders o " +
+            "LEFT JOIN addresses a ON a.address_id = o.shipping_address_id " +
+            "LEFT JOIN provinces pr ON pr.code = a.province_code " +
+            "WHERE o.created_at BETWEEN :start AND :end AND CAST(o.status AS VARCHAR) IN (:statuses) " +
+            "GROUP BY 1", nativeQuery = true)
+    List<OrderDimensionAggregate> aggregateByProvince(@Param("start") LocalDateTime start,
+                                                      @Param("end") LocalDateTime end,
+                                                      @Param("statuses") Collection<String> statuses);
+
+    @Query(value = "SELECT COALESCE(CAST(p.payment_method AS VARCHAR), 'NONE') AS dimension, CAST(NULL AS VARCHAR) AS label, " +
+            "COUNT(*) AS \"orderCount\", COALESCE(SUM(o.total_amount), 0) AS \"totalAmount\" " +
+            "FROM orders o " +
+            "LEFT JOIN LATERAL (SELECT py.payment_method FROM payments py WHERE py.order_id = o.order_id " +
+            "ORDER BY py.created_at, py.payment_id LIMIT 1) p ON TRUE " +
+            "WHERE o.created_at BETWEEN :start AND :end AND CAST(o.status AS VARCHAR) IN (:statuses) " +
+            "GROUP BY 1", nativeQuery = true)
+    List<OrderDimensionAggregate> aggregateByPaymentMethod(@Param("start") LocalDateTime start,
+                                                           @Param("end") LocalDateTime end,
+                                                           @Param("statuses") Collection<String> statuses);
+
+    // Every dashboard metric in a single scan: one row per status with period totals as filtered aggregates
+    @Query(value = "SELECT CAST(o.status AS VARCHAR) AS status, " +
+            "COUNT(*) AS \"orderCount\", COALESCE(SUM(o.total_amount), 0) AS \"totalAmount\", " +
+            "COUNT(*) FILTER (WHERE o.created_at BETWEEN :todayStart AND :now) AS \"todayCount\", " +
+            "COALESCE(SUM(o.total_amount) FILTER (WHERE o.created_at BETWEEN :todayStart AND :now), 0) AS \"todayAmount\", " +
+            "COUNT(*) FILTER (WHERE o.created_at BETWEEN :weekStart AND :now) AS \"weekCount\", " +
+            "COALESCE(SUM(o.total_amount) FILTER (WHERE o.created_at BETWEEN :weekStart AND :now), 0) AS \"weekAmount\", " +
+            "COUNT(*) FILTER (WHERE o.created_at BETWEEN :monthStart AND :now) AS \"monthCount\", " +
+            "COALESCE(SUM(o.total_amount) FILTER (WHERE o.created_at BETWEEN :monthStart AND :now), 0) AS \"monthAmount\", " +
+            "COUNT(*) FILTER (WHERE o.created_at BETWEEN :previousWeekStart AND :weekStart) AS \"previousWeekCount\", " +
+            "COALESCE(SUM(o.total_amount) FILTER (WHERE o.created_at BETWEEN :previousMonthStart AND :monthStart), 0) AS \"previousMonthAmount\" " +
+            "FROM orders o " +
+            "GROUP BY o.status", nativeQuery = true)
+    List<OrderDashboardAggregate> aggregateDashboard(@Param("now") LocalDateTime now,
+                                                     @Param("todayStart") LocalDateTime todayStart,
+                                                     @Param("weekStart") LocalDateTime weekStart,
+                                                     @Param("monthStart") LocalDateTime monthStart,
+                                                     @Param("previousWeekStart") LocalDateTime previousWeekStart,
+                                                     @Param("previousMonthStart") LocalDateTime previousMonthStart);
+}
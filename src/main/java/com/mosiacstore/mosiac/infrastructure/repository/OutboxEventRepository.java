@@ -0,0 +1,27 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.outbox.OutboxEvent;
+import com.mosiacstore.mosiac.domain.outbox.OutboxEventStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, UUID> {
+
+    // SKIP LOCKED lets several nodes poll at once without handing the same event to two of them
+    @Query(value = "SELECT * FROM outbox_events WHERE state = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> claimDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.state = :state AND e.dispatchedAt < :before")
+    int deleteByStateAndDispatchedAtBefore(@Param("state") OutboxEventStatus state,
+                                           @Param("before") LocalDateTime before);
+}
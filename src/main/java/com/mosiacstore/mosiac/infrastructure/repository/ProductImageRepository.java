@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +21,8 @@ public interface ProductImageRepository extends JpaRepository<ProductImage, UUID
 
     Optional<ProductImage> findByProductIdAndIsPrimaryTrue(UUID productId);
 
+    List<ProductImage> findByProductIdInAndIsPrimaryTrue(Collection<UUID> productIds);
+
     @Modifying
     @Query("UPDATE ProductImage pi SET pi.isPrimary = false WHERE pi.product.id = :productId AND pi.id != :imageId")
     void updateNonPrimaryImages(@Param("productId") UUID productId, @Param("imageId") UUID imageId);
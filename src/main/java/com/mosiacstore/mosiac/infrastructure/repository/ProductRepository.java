@@ -5,16 +5,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpecificationExecutor<Product>,
+        ProductSearchRepository {
 
     Optional<Product> findBySlug(String slug);
 
@@ -36,4 +39,56 @@ public interface ProductRepository extends JpaRepository<Product, UUID>, JpaSpec
 
     // Check if slug exists for another product (for validation)
     boolean existsBySlugAndIdNot(String slug, UUID id);
+
+    // Load products with the associations shown in listings in one round trip
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.region WHERE p.id IN :ids")
+    List<Product> findWithCategoryAndRegionByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Source rows of the suggestion index, see ProductSuggestIndex
+    @Query("SELECT p FROM Product p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.region WHERE p.active = true")
+    List<Product> findAllActiveWithCategoryAndRegion();
+
+    // Guarded decrement: matches no row when unreserved stock is short; untracked (null) stock stays null
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND (p.stockQuantity IS NULL OR p.stockQuantity - p.reservedQuantity >= :quantity)")
+    int decrementStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity + :quantity, p.version = p.version + 1 " +
+            "WHERE p.id = :id AND p.stockQuantity IS NOT NULL")
+    int incrementStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // Adds buffered page views (see ProductViewCounter) in one statement; ids and deltas are
+    // parallel arrays. Leaves the version alone so views never conflict with admin edits
+    @Modifying
+    @Query(value = "UPDATE products p SET view_count = COALESCE(p.view_count, 0) + d.delta " +
+            "FROM unnest(CAST(:ids AS UUID[]), CAST(:deltas AS BIGINT[])) AS d(id, delta) " +
+            "WHERE p.product_id = d.id", nativeQuery = true)
+    int addViewCounts(@Param("ids") UUID[] ids, @Param("deltas") long[] deltas);
+
+    // Guarded hold: matches no row when unreserved stock is short
+    @Modifying
+    @Query(value = "UPDATE products SET reserved_quantity = reserved_quantity + :quantity " +
+            "WHERE product_id = :id AND (stock_quantity IS NULL OR stock_quantity - reserved_quantity >= :quantity)",
+            nativeQuery = true)
+    int reserveStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE products SET reserved_quantity = GREATEST(reserved_quantity - :quantity, 0) " +
+            "WHERE product_id = :id", nativeQuery = true)
+    int releaseReservedStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // Give back the stock of order lines without a variant in one statement, rows are locked in id order first.
+    // Returns the ids of the restored products, for cache eviction
+    @Query(value = "WITH restored AS (" +
+            "SELECT oi.product_id AS id, SUM(oi.quantity) AS quantity FROM order_items oi " +
+            "WHERE oi.order_id IN (:orderIds) AND oi.variant_id IS NULL GROUP BY oi.product_id), " +
+            "locked AS MATERIALIZED (" +
+            "SELECT p.product_id FROM products p JOIN restored r ON r.id = p.product_id " +
+            "ORDER BY p.product_id FOR UPDATE OF p) " +
+            "UPDATE products p SET stock_quantity = p.stock_quantity + r.quantity, version = p.version + 1 " +
+            "FROM restored r WHERE p.product_id = r.id AND p.stock_quantity IS NOT NULL " +
+            "AND p.product_id IN (SELECT product_id FROM locked) RETURNING p.product_id", nativeQuery = true)
+    List<UUID> restoreStockForOrders(@Param("orderIds") Collection<UUID> orderIds);
 }
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.infrastructure.repository.projection.ProductFacetAggregate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public interface ProductSearchRepository {
+
+    /**
+     * Full-text search over products.search_vector (name, SKU, descriptions, accents folded).
+     * Null filters are left out of the query
+     *
+     * @param pageable Sorted by the pageable's sort when it has one on a sortable column, otherwise most relevant first
+     * @return Page of matching product ids in that order
+     */
+    Page<UUID> fullTextSearch(String keyword, UUID categoryId, UUID regionId, Double minPrice, Double maxPrice,
+                              Boolean featured, Boolean active, Pageable pageable);
+
+    /**
+     * Facet counts for a product listing in one grouped scan. Each facet is counted with every
+     * filter except its own, so the counts show what picking another value would return
+     *
+     * @param fullText Match the keyword against search_vector, otherwise as a substring of name or description
+     * @param priceBands Ascending band boundaries; band i holds prices from boundary i-1 up to boundary i
+     */
+    List<ProductFacetAggregate> countFacets(String keyword, boolean fullText, UUID categoryId, UUID regionId,
+                                            Double minPrice, Double maxPrice, Boolean featured, Boolean active,
+                                            List<BigDecimal> priceBands);
+}
@@ -0,0 +1,222 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.infrastructure.repository.projection.ProductFacetAggregate;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+public class ProductSearchRepositoryImpl implements ProductSearchRepository {
+
+    // Product properties a search can be sorted by, and their columns
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "p.created_at",
+            "updatedAt", "p.updated_at",
+            "name", "p.name",
+            "price", "p.price",
+            "viewCount", "p.view_count",
+            "stockQuantity", "p.stock_quantity"
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Page<UUID> fullTextSearch(String keyword, UUID categoryId, UUID regionId, Double minPrice, Double maxPrice,
+                                     Boolean featured, Boolean active, Pageable pageable) {
+        String tsQuery = toPrefixQuery(keyword);
+        if (tsQuery.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        // Only the filters that were given end up in the SQL, so the planner sees plain predicates
+        StringBuilder where = new StringBuilder(" WHERE p.search_vector @@ q.query");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("tsQuery", tsQuery);
+        if (categoryId != null) {
+            where.append(" AND p.category_id = :categoryId");
+            parameters.put("categoryId", categoryId);
+        }
+        if (regionId != null) {
+            where.append(" AND p.region_id = :regionId");
+            parameters.put("regionId", regionId);
+        }
+        if (minPrice != null) {
+            where.append(" AND p.price >= :minPrice");
+            parameters.put("minPrice", BigDecimal.valueOf(minPrice));
+        }
+        if (maxPrice != null) {
+            where.append(" AND p.price <= :maxPrice");
+            parameters.put("maxPrice", BigDecimal.valueOf(maxPrice));
+        }
+        if (featured != null) {
+            where.append(" AND p.featured = :featured");
+            parameters.put("featured", featured);
+        }
+        if (active != null) {
+            where.append(" AND p.active = :active");
+            parameters.put("active", active);
+        }
+
+        String from = " FROM products p, to_tsquery('simple', immutable_unaccent(lower(:tsQuery))) AS q(query)";
+
+        Query select = entityManager.createNativeQuery("SELECT p.product_id" + from + where +
+                " ORDER BY " + orderBy(pageable.getSort()));
+        parameters.forEach(select::setParameter);
+        select.setFirstResult((int) pageable.getOffset());
+        select.setMaxResults(pageable.getPageSize());
+        List<UUID> ids = select.getResultList();
+
+        long total;
+        if (pageable.getOffset() == 0 && ids.size() < pageable.getPageSize()) {
+            total = ids.size();
+        } else {
+            Query count = entityManager.createNativeQuery("SELECT COUNT(*)" + from + where);
+            parameters.forEach(count::setParameter);
+            total = ((Number) count.getSingleResult()).longValue();
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    // The caller's sort when it names sortable columns, rank otherwise; product_id keeps pages stable
+    private static String orderBy(Sort sort) {
+        List<String> terms = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column != null) {
+                terms.add(column + (order.isAscending() ? " ASC" : " DESC") + " NULLS LAST");
+            }
+        }
+        if (terms.isEmpty()) {
+            terms.add("ts_rank_cd(p.search_vector, q.query) DESC");
+            terms.add("p.created_at DESC");
+        }
+        terms.add("p.product_id");
+        return String.join(", ", terms);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProductFacetAggregate> countFacets(String keyword, boolean fullText, UUID categoryId, UUID regionId,
+                                                   Double minPrice, Double maxPrice, Boolean featured, Boolean active,
+                                                   List<BigDecimal> priceBands) {
+        // Keyword and active narrow every facet; the facet filters are evaluated per row as flags
+        StringBuilder where = new StringBuilder(" WHERE TRUE");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (keyword != null && !keyword.isBlank()) {
+            if (fullText) {
+                String tsQuery = toPrefixQuery(keyword);
+                if (tsQuery.isEmpty()) {
+                    return List.of();
+                }
+                where.append(" AND p.search_vector @@ to_tsquery('simple', immutable_unaccent(lower(:tsQuery)))");
+                parameters.put("tsQuery", tsQuery);
+            } else {
+                where.append(" AND (LOWER(p.name) LIKE :pattern OR LOWER(p.description) LIKE :pattern)");
+                parameters.put("pattern", "%" + keyword.toLowerCase() + "%");
+            }
+        }
+        if (active != null) {
+            where.append(" AND p.active = :active");
+            parameters.put("active", active);
+        }
+
+        String inCategory = "TRUE";
+        if (categoryId != null) {
+            inCategory = "p.category_id = :categoryId";
+            parameters.put("categoryId", categoryId);
+        }
+        String inRegion = "TRUE";
+        if (regionId != null) {
+            inRegion = "p.region_id = :regionId";
+            parameters.put("regionId", regionId);
+        }
+        List<String> priceConditions = new ArrayList<>();
+        if (minPrice != null) {
+            priceConditions.add("p.price >= :minPrice");
+            parameters.put("minPrice", BigDecimal.valueOf(minPrice));
+        }
+        if (maxPrice != null) {
+            priceConditions.add("p.price <= :maxPrice");
+            parameters.put("maxPrice", BigDecimal.valueOf(maxPrice));
+        }
+        String inPrice = priceConditions.isEmpty() ? "TRUE" : String.join(" AND ", priceConditions);
+        String inFeatured = "TRUE";
+        if (featured != null) {
+            inFeatured = "p.featured = :featured";
+            parameters.put("featured", featured);
+        }
+
+        String band = "0";
+        if (!priceBands.isEmpty()) {
+            band = "width_bucket(p.price, CAST(:priceBands AS NUMERIC[]))";
+            parameters.put("priceBands", priceBands.stream()
+                    .map(BigDecimal::toPlainString)
+                    .collect(Collectors.joining(",", "{", "}")));
+        }
+
+        // One grouping set per facet; GROUPING() = 0 tells which set a row belongs to
+        String sql = "SELECT " +
+                "CASE WHEN GROUPING(f.category_id) = 0 THEN 'category' WHEN GROUPING(f.region_id) = 0 THEN 'region' " +
+                "WHEN GROUPING(f.band) = 0 THEN 'price' ELSE 'featured' END AS facet, " +
+                "CASE WHEN GROUPING(f.category_id) = 0 THEN CAST(f.category_id AS VARCHAR) " +
+                "WHEN GROUPING(f.region_id) = 0 THEN CAST(f.region_id AS VARCHAR) " +
+                "WHEN GROUPING(f.band) = 0 THEN CAST(f.band AS VARCHAR) ELSE CAST(f.featured AS VARCHAR) END AS value, " +
+                "CASE WHEN GROUPING(f.category_id) = 0 THEN MAX(c.name) " +
+                "WHEN GROUPING(f.region_id) = 0 THEN MAX(r.name) END AS label, " +
+                "CASE WHEN GROUPING(f.category_id) = 0 THEN COUNT(*) FILTER (WHERE f.in_region AND f.in_price AND f.in_featured) " +
+                "WHEN GROUPING(f.region_id) = 0 THEN COUNT(*) FILTER (WHERE f.in_category AND f.in_price AND f.in_featured) " +
+                "WHEN GROUPING(f.band) = 0 THEN COUNT(*) FILTER (WHERE f.in_category AND f.in_region AND f.in_featured) " +
+                "ELSE COUNT(*) FILTER (WHERE f.in_category AND f.in_region AND f.in_price) END AS product_count " +
+                "FROM (SELECT p.category_id, p.region_id, p.featured, " + band + " AS band, " +
+                inCategory + " AS in_category, " + inRegion + " AS in_region, " +
+                inPrice + " AS in_price, " + inFeatured + " AS in_featured " +
+                "FROM products p" + where + ") f " +
+                "LEFT JOIN product_categories c ON c.category_id = f.category_id " +
+                "LEFT JOIN regions r ON r.region_id = f.region_id " +
+                "GROUP BY GROUPING SETS ((f.category_id), (f.region_id), (f.band), (f.featured))";
+
+        Query query = entityManager.createNativeQuery(sql);
+        parameters.forEach(query::setParameter);
+
+        List<ProductFacetAggregate> facets = new ArrayList<>();
+        for (Object[] row : (List<Object[]>) query.getResultList()) {
+            long count = ((Number) row[3]).longValue();
+            if (count > 0) {
+                facets.add(new ProductFacetAggregate((String) row[0], (String) row[1], (String) row[2], count));
+            }
+        }
+        return facets;
+    }
+
+    /**
+     * Turn free text into a tsquery that ANDs the words and prefix-matches the last one,
+     * so "ao da" already finds "Áo dài". Only letters and digits survive, nothing can inject tsquery syntax
+     */
+    private static String toPrefixQuery(String keyword) {
+        List<String> terms = new ArrayList<>();
+        String composed = Normalizer.normalize(keyword, Normalizer.Form.NFC);
+        for (String term : composed.split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        if (terms.isEmpty()) {
+            return "";
+        }
+        return String.join(" & ", terms) + ":*";
+    }
+}
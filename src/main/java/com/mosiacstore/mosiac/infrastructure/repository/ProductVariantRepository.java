@@ -3,10 +3,12 @@ package com.mosiacstore.mosiac.infrastructure.repository;
 import com.mosiacstore.mosiac.domain.product.ProductSize;
 import com.mosiacstore.mosiac.domain.product.ProductVariant;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -22,4 +24,40 @@ public interface ProductVariantRepository extends JpaRepository<ProductVariant,
 
     // Check if a combination of product, size, and color already exists
     boolean existsByProductIdAndSizeAndColor(UUID productId, ProductSize size, String color);
+
+    // Guarded decrement: matches no row when unreserved stock is short; untracked (null) stock stays null
+    @Modifying
+    @Query("UPDATE ProductVariant v SET v.stockQuantity = v.stockQuantity - :quantity, v.version = v.version + 1 " +
+            "WHERE v.id = :id AND (v.stockQuantity IS NULL OR v.stockQuantity - v.reservedQuantity >= :quantity)")
+    int decrementStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE ProductVariant v SET v.stockQuantity = v.stockQuantity + :quantity, v.version = v.version + 1 " +
+            "WHERE v.id = :id AND v.stockQuantity IS NOT NULL")
+    int incrementStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // Guarded hold: matches no row when unreserved stock is short
+    @Modifying
+    @Query(value = "UPDATE product_variants SET reserved_quantity = reserved_quantity + :quantity " +
+            "WHERE variant_id = :id AND (stock_quantity IS NULL OR stock_quantity - reserved_quantity >= :quantity)",
+            nativeQuery = true)
+    int reserveStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE product_variants SET reserved_quantity = GREATEST(reserved_quantity - :quantity, 0) " +
+            "WHERE variant_id = :id", nativeQuery = true)
+    int releaseReservedStock(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    // Give back the variant stock of many orders in one statement, rows are locked in id order first.
+    // Returns the owning product id of every restored variant, for cache eviction
+    @Query(value = "WITH restored AS (" +
+            "SELECT oi.variant_id AS id, SUM(oi.quantity) AS quantity FROM order_items oi " +
+            "WHERE oi.order_id IN (:orderIds) AND oi.variant_id IS NOT NULL GROUP BY oi.variant_id), " +
+            "locked AS MATERIALIZED (" +
+            "SELECT v.variant_id FROM product_variants v JOIN restored r ON r.id = v.variant_id " +
+            "ORDER BY v.variant_id FOR UPDATE OF v) " +
+            "UPDATE product_variants v SET stock_quantity = v.stock_quantity + r.quantity, version = v.version + 1 " +
+            "FROM restored r WHERE v.variant_id = r.id AND v.stock_quantity IS NOT NULL " +
+            "AND v.variant_id IN (SELECT variant_id FROM locked) RETURNING v.product_id", nativeQuery = true)
+    List<UUID> restoreStockForOrders(@Param("orderIds") Collection<UUID> orderIds);
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.product.StockReservation;
+import com.mosiacstore.mosiac.infrastructure.repository.projection.ReleasedReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    // DELETE ... RETURNING hands each hold to exactly one releaser, even when the sweeper and a checkout race
+    @Query(value = "DELETE FROM stock_reservations WHERE expires_at < :now " +
+            "RETURNING product_id AS \"productId\", variant_id AS \"variantId\", quantity", nativeQuery = true)
+    List<ReleasedReservation> deleteExpired(@Param("now") LocalDateTime now);
+
+    @Query(value = "DELETE FROM stock_reservations WHERE user_id = :userId " +
+            "RETURNING product_id AS \"productId\", variant_id AS \"variantId\", quantity", nativeQuery = true)
+    List<ReleasedReservation> deleteByUser(@Param("userId") UUID userId);
+}
@@ -0,0 +1,61 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.order.UserOrderSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserOrderSummaryRepository extends JpaRepository<UserOrderSummary, UUID> {
+
+    // Serializes refreshes per user; NO KEY UPDATE does not block orders being inserted for the user
+    @Query(value = "SELECT u.user_id FROM users u WHERE u.user_id IN (:userIds) " +
+            "ORDER BY u.user_id FOR NO KEY UPDATE", nativeQuery = true)
+    List<UUID> lockUsers(@Param("userIds") Collection<UUID> userIds);
+
+    // Recompute the summary rows of the given users from their orders in one statement (limit: RECENT_ORDER_LIMIT)
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO user_order_summaries (user_id, order_count, pending_payment_count, paid_count, " +
+            "processing_count, shipping_count, delivered_count, cancelled_count, total_spent, last_order_at, " +
+            "recent_orders, updated_at) " +
+            "SELECT u.user_id, COUNT(o.order_id), " +
+            "COUNT(o.order_id) FILTER (WHERE o.status = 'PENDING_PAYMENT'), " +
+            "COUNT(o.order_id) FILTER (WHERE o.status = 'PAID'), " +
+            "COUNT(o.order_id) FILTER (WHERE o.status = 'PROCESSING'), " +
+            "COUNT(o.order_id) FILTER (WHERE o.status = 'SHIPPING'), " +
+            "COUNT(o.order_id) FILTER (WHERE o.status = 'DELIVERED'), " +
+            "COUNT(o.order_id) FILTER (WHERE o.status = 'CANCELLED'), " +
+            "COALESCE(SUM(o.total_amount) FILTER (WHERE o.status IN ('PAID', 'PROCESSING', 'SHIPPING', 'DELIVERED')), 0), " +
+            "MAX(o.created_at), " +
+            "CAST((SELECT COALESCE(json_agg(json_build_object(" +
+            "'id', r.order_id, 'orderNumber', r.order_number, 'status', r.status, " +
+            "'totalAmount', r.total_amount, 'itemCount', r.item_count, 'createdAt', r.created_at) " +
+            "ORDER BY r.created_at DESC), '[]') " +
+            "FROM (SELECT o2.order_id, o2.order_number, o2.status, o2.total_amount, o2.created_at, " +
+            "(SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi WHERE oi.order_id = o2.order_id) AS item_count " +
+            "FROM orders o2 WHERE o2.user_id = u.user_id " +
+            "ORDER BY o2.created_at DESC LIMIT :limit) r) AS TEXT), " +
+            "now() " +
+            "FROM users u LEFT JOIN orders o ON o.user_id = u.user_id " +
+            "WHERE u.user_id IN (:userIds) " +
+            "GROUP BY u.user_id " +
+            "ON CONFLICT (user_id) DO UPDATE SET " +
+            "order_count = EXCLUDED.order_count, " +
+            "pending_payment_count = EXCLUDED.pending_payment_count, " +
+            "paid_count = EXCLUDED.paid_count, " +
+            "processing_count = EXCLUDED.processing_count, " +
+            "shipping_count = EXCLUDED.shipping_count, " +
+            "delivered_count = EXCLUDED.delivered_count, " +
+            "cancelled_count = EXCLUDED.cancelled_count, " +
+            "total_spent = EXCLUDED.total_spent, " +
+            "last_order_at = EXCLUDED.last_order_at, " +
+            "recent_orders = EXCLUDED.recent_orders, " +
+            "updated_at = EXCLUDED.updated_at", nativeQuery = true)
+    int refresh(@Param("userIds") Collection<UUID> userIds, @Param("limit") int limit);
+}
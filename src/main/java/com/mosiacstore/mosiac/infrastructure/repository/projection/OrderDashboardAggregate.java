@@ -0,0 +1,32 @@
+package com.mosiacstore.mosiac.infrastructure.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Dashboard totals for one order status.
+ * Period columns only count orders created inside that period
+ */
+public interface OrderDashboardAggregate {
+
+    String getStatus();
+
+    Long getOrderCount();
+
+    BigDecimal getTotalAmount();
+
+    Long getTodayCount();
+
+    BigDecimal getTodayAmount();
+
+    Long getWeekCount();
+
+    BigDecimal getWeekAmount();
+
+    Long getMonthCount();
+
+    BigDecimal getMonthAmount();
+
+    Long getPreviousWeekCount();
+
+    BigDecimal getPreviousMonthAmount();
+}
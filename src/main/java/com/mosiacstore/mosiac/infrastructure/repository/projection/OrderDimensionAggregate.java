@@ -0,0 +1,18 @@
+package com.mosiacstore.mosiac.infrastructure.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated order data for one value of a grouping dimension
+ * (province code, payment method, ...). Label is an optional display name
+ */
+public interface OrderDimensionAggregate {
+
+    String getDimension();
+
+    String getLabel();
+
+    Long getOrderCount();
+
+    BigDecimal getTotalAmount();
+}
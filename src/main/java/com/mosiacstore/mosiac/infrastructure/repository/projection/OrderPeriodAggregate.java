@@ -0,0 +1,16 @@
+package com.mosiacstore.mosiac.infrastructure.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * One time bucket of aggregated order data.
+ * Bucket is the start of the period formatted as yyyy-MM-dd
+ */
+public interface OrderPeriodAggregate {
+
+    String getBucket();
+
+    Long getOrderCount();
+
+    BigDecimal getTotalAmount();
+}
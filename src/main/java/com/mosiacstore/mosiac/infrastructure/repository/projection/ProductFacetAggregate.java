@@ -0,0 +1,23 @@
+package com.mosiacstore.mosiac.infrastructure.repository.projection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Number of matching products for one value of a listing facet.
+ * Facet is category, region, price (value is the band index) or featured; label is the display name if any
+ */
+@Getter
+@AllArgsConstructor
+public class ProductFacetAggregate {
+
+    public static final String CATEGORY = "category";
+    public static final String REGION = "region";
+    public static final String PRICE = "price";
+    public static final String FEATURED = "featured";
+
+    private final String facet;
+    private final String value;
+    private final String label;
+    private final long count;
+}
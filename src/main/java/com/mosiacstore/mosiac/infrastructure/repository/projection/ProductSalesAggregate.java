@@ -0,0 +1,16 @@
+package com.mosiacstore.mosiac.infrastructure.repository.projection;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Quantity sold and revenue of one product
+ */
+public interface ProductSalesAggregate {
+
+    UUID getProductId();
+
+    Long getQuantity();
+
+    BigDecimal getRevenue();
+}
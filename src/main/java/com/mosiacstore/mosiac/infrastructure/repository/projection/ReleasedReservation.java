@@ -0,0 +1,15 @@
+package com.mosiacstore.mosiac.infrastructure.repository.projection;
+
+import java.util.UUID;
+
+/**
+ * Stock of a deleted reservation that still has to be given back
+ */
+public interface ReleasedReservation {
+
+    UUID getProductId();
+
+    UUID getVariantId();
+
+    Integer getQuantity();
+}
@@ -47,6 +47,7 @@ public class SecurityConfig {
                                 "/api/v1/products/category/{categoryId}",
                                 "/api/v1/products/region/{regionId}",
                                 "/api/v1/products/featured",
+                                "/api/v1/products/suggest",
                                 "/api/v1/cart/**",
                                 "/api/v1/payment/vnpay/payment-callback"
                         ).permitAll()
@@ -76,7 +77,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(Arrays.asList("*"));
         //configuration.setAllowedOrigins(Arrays.asList("http://localhost:5173"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type"));
+        configuration.setAllowedHeaders(Arrays.asList("Authorization", "Content-Type", "Idempotency-Key"));
         configuration.setExposedHeaders(Arrays.asList("Authorization"));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -0,0 +1,149 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Bounded LRU result cache for admin analytics queries.
+ * Requested ranges are widened to whole days, so every request for the same days shares one entry.
+ * Ranges that ended before today are kept until an order inside them changes or a long TTL passes,
+ * ranges touching today (or left open) expire after a short TTL
+ */
+@Service
+@Slf4j
+public class AnalyticsResultCache {
+
+    private static final DateTimeFormatter KEY_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
+
+    // Last microsecond of the day; PostgreSQL timestamps hold micros, so LocalTime.MAX would round to the next day
+    private static final LocalTime END_OF_DAY = LocalTime.MAX.truncatedTo(ChronoUnit.MICROS);
+
+    private final int maxEntries;
+    private final long ttlSeconds;
+    private final long historicalTtlSeconds;
+
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<String, CacheEntry> entries;
+
+    // Bumped on every eviction so a historical result computed before a write is never stored after it
+    private long generation;
+
+    public AnalyticsResultCache(@Value("${analytics.cache.max-entries:1000}") int maxEntries,
+                                @Value("${analytics.cache.ttl-seconds:30}") long ttlSeconds,
+                                @Value("${analytics.cache.historical-ttl-seconds:86400}") long historicalTtlSeconds) {
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.historicalTtlSeconds = historicalTtlSeconds;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                return size() > AnalyticsResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Return the cached result for the request or compute and store it
+     *
+     * @param endpoint Analytics endpoint name
+     * @param params Remaining request parameters (period, limit, ...)
+     * @param startDate Requested range start, null when defaulted
+     * @param endDate Requested range end, null when defaulted
+     * @param loader Computes the result on a miss from the day-aligned range (bounds stay null when defaulted)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String endpoint,
+                     String params,
+                     LocalDateTime startDate,
+                     LocalDateTime endDate,
+                     BiFunction<LocalDateTime, LocalDateTime, T> loader) {
+
+        LocalDateTime from = startDate != null ? startDate.toLocalDate().atStartOfDay() : null;
+        LocalDateTime to = endDate != null ? endDate.toLocalDate().atTime(END_OF_DAY) : null;
+        String key = keyOf(endpoint, params, from, to);
+
+        long loadGeneration;
+        synchronized (this) {
+            CacheEntry cached = entries.get(key);
+            if (cached != null && !cached.isExpired(LocalDateTime.now())) {
+                return (T) cached.value;
+            }
+            loadGeneration = generation;
+        }
+
+        T value = loader.apply(from, to);
+
+        boolean historical = from != null && to != null && to.isBefore(LocalDate.now().atStartOfDay());
+        if (value != null) {
+            LocalDateTime expiresAt = LocalDateTime.now().plusSeconds(historical ? historicalTtlSeconds : ttlSeconds);
+            synchronized (this) {
+                if (!historical || generation == loadGeneration) {
+                    entries.put(key, new CacheEntry(value, from, to, historical, expiresAt));
+                }
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Evict historical results whose range overlaps the given order creation window.
+     * Results covering today are left to their TTL
+     */
+    public synchronized void evictOverlapping(LocalDateTime from, LocalDateTime to) {
+        generation++;
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.historical && entry.overlaps(from, to));
+        log.debug("Evicted {} analytics cache entries for {} - {}", before - entries.size(), from, to);
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    // Params are case-insensitive and ranges are keyed by day, so equal requests share one entry
+    private static String keyOf(String endpoint, String params, LocalDateTime from, LocalDateTime to) {
+        return endpoint + ":"
+                + (params != null ? params.trim().toLowerCase(Locale.ROOT) : "*") + ":"
+                + (from != null ? KEY_DATE_FORMAT.format(from) : "*") + ":"
+                + (to != null ? KEY_DATE_FORMAT.format(to) : "*");
+    }
+
+    private static class CacheEntry {
+        private final Object value;
+        private final LocalDateTime startDate;
+        private final LocalDateTime endDate;
+        private final boolean historical;
+        private final LocalDateTime expiresAt;
+
+        CacheEntry(Object value, LocalDateTime startDate, LocalDateTime endDate,
+                   boolean historical, LocalDateTime expiresAt) {
+            this.value = value;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.historical = historical;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired(LocalDateTime now) {
+            return now.isAfter(expiresAt);
+        }
+
+        // Open bounds are treated as unbounded
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return (startDate == null || !to.isBefore(startDate))
+                    && (endDate == null || !from.isAfter(endDate));
+        }
+    }
+}
@@ -11,6 +11,7 @@ import java.util.function.Supplier;
 /**
  * Service to manage high-concurrency operations
  * Particularly useful for AWS t2.micro instances with limited resources
+ * Throttles load only, it does not make writes safe: entities use @Version, see OptimisticRetryExecutor
  */
 @Service
 @Slf4j
@@ -42,22 +43,25 @@ public class ConcurrencyManager {
         String lockKey = resourceType + ":" + key;
         Semaphore semaphore = getOrCreateSemaphore(resourceType);
 
+        boolean acquired = false;
         try {
             // Try to acquire a permit with timeout
-            if (!semaphore.tryAcquire(5, TimeUnit.SECONDS)) {
+            acquired = semaphore.tryAcquire(5, TimeUnit.SECONDS);
+            if (!acquired) {
                 log.warn("Failed to acquire lock for {}, proceeding without lock", lockKey);
-                return operation.get();
             }
-
-            // Execute operation with acquired permit
-            return operation.get();
-
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
             log.error("Thread interrupted while waiting for lock on {}", lockKey, e);
+        }
+
+        try {
             return operation.get();
         } finally {
-            semaphore.release();
+            // Only give back a permit that was taken, otherwise the limit grows with every timeout
+            if (acquired) {
+                semaphore.release();
+            }
         }
     }
 
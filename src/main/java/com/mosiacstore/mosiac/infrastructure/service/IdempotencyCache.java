@@ -0,0 +1,109 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.application.exception.InvalidOperationException;
+import com.mosiacstore.mosiac.application.exception.ResourceConflictException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs an operation at most once per idempotency key.
+ * Duplicates arriving while the first call is running wait for its result,
+ * later duplicates get the stored result until it expires. Failed calls are not stored
+ */
+@Service
+@Slf4j
+public class IdempotencyCache {
+
+    private static final int MAX_ENTRIES = 10000;
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ConcurrentHashMap<String, Execution> executions = new ConcurrentHashMap<>();
+
+    @Value("${idempotency.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    /**
+     * Run the operation, or return the result of the call that already used this key
+     *
+     * @param scope Owner of the key, so different users cannot share results
+     * @param key Client supplied Idempotency-Key
+     * @param request Request body, a key reused with a different body is rejected
+     * @param operation The operation to run once
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String key, Object request, Supplier<T> operation) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidOperationException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = scope + ":" + key;
+        Execution execution = new Execution(request);
+
+        while (true) {
+            Execution existing = executions.putIfAbsent(cacheKey, execution);
+            if (existing == null) {
+                break;
+            }
+            if (existing.isExpired(LocalDateTime.now())) {
+                executions.remove(cacheKey, existing);
+                continue;
+            }
+            if (!Objects.equals(existing.request, request)) {
+                throw new ResourceConflictException("Idempotency-Key was already used for a different request");
+            }
+            log.debug("Replaying result for idempotency key {}", cacheKey);
+            return (T) await(existing);
+        }
+
+        if (executions.size() > MAX_ENTRIES) {
+            LocalDateTime now = LocalDateTime.now();
+            executions.values().removeIf(entry -> entry.isExpired(now));
+        }
+
+        try {
+            T value = operation.get();
+            execution.expiresAt = LocalDateTime.now().plusSeconds(ttlSeconds);
+            execution.result.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            // Waiting duplicates see the same failure, the next retry runs again
+            executions.remove(cacheKey, execution);
+            execution.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private Object await(Execution execution) {
+        try {
+            return execution.result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Execution {
+        private final Object request;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        // Null while the operation is still running
+        private volatile LocalDateTime expiresAt;
+
+        Execution(Object request) {
+            this.request = request;
+        }
+
+        boolean isExpired(LocalDateTime now) {
+            return expiresAt != null && now.isAfter(expiresAt);
+        }
+    }
+}
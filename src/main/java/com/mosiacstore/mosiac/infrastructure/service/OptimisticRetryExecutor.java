@@ -0,0 +1,82 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.application.exception.ResourceConflictException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs an operation that lost an optimistic lock race (@Version mismatch).
+ * Every attempt runs in its own transaction and re-reads its rows, so only
+ * operations without side effects outside the database should be passed in
+ */
+@Service
+@Slf4j
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${optimistic-retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${optimistic-retry.backoff-ms:50}")
+    private long backoffMillis;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Run the operation, retrying with a short jittered backoff when another
+     * transaction updated the same rows first
+     *
+     * @param operation Name used in logs
+     * @param action The transactional work, executed again on each attempt
+     * @throws ResourceConflictException when every attempt lost the race
+     */
+    public <T> T execute(String operation, Supplier<T> action) {
+        // Inside a caller's transaction a retry would reuse its stale persistence context
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("{} lost {} optimistic lock races, giving up", operation, attempt);
+                    throw new ResourceConflictException(
+                            "The record was modified by another request, please reload and try again");
+                }
+                // An open-in-view EntityManager outlives the attempt and would hand back the stale rows
+                entityManager.clear();
+                log.debug("{} hit a concurrent update, retrying (attempt {})", operation, attempt + 1);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long delay = backoffMillis * attempt + ThreadLocalRandom.current().nextLong(backoffMillis + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResourceConflictException("Interrupted while retrying a concurrent update");
+        }
+    }
+}
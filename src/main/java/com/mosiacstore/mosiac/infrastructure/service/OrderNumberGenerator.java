@@ -0,0 +1,48 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.infrastructure.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hands out order numbers "VS" + yyMMdd + 8-digit sequence number.
+ * Each node takes a block of numbers from order_number_seq at a time, sized by the sequence's INCREMENT BY,
+ * so numbers never collide across nodes and only one call per block touches the database.
+ * The 8-digit suffix keeps them apart from the older numbers with a random 4-digit suffix
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderNumberGenerator {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyMMdd");
+
+    private final OrderRepository orderRepository;
+
+    private long blockSize;
+    private long next;
+    private long limit;
+
+    public String nextOrderNumber() {
+        return "VS" + LocalDate.now().format(DATE_FORMAT) + String.format("%08d", nextValue());
+    }
+
+    private synchronized long nextValue() {
+        if (next >= limit) {
+            if (blockSize == 0) {
+                blockSize = orderRepository.orderNumberBlockSize();
+                if (blockSize < 1) {
+                    throw new IllegalStateException("order_number_seq must have a positive INCREMENT BY, got " + blockSize);
+                }
+            }
+            next = orderRepository.nextOrderNumberBlock();
+            limit = next + blockSize;
+            log.debug("Allocated order number block {} - {}", next, limit - 1);
+        }
+        return next++;
+    }
+}
@@ -0,0 +1,179 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.application.dto.response.ProductResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Bounded LRU cache of fully mapped product responses, looked up by id or slug.
+ * Entries expire after a TTL; product writes evict them once their transaction commits.
+ * Stock changes evict the products they touch, set-based restores evict the ids their update returned
+ */
+@Service
+@Slf4j
+public class ProductResponseCache {
+
+    private final int maxEntries;
+    private final long ttlSeconds;
+
+    // Access-ordered, so the eldest entry is the least recently used one
+    private final LinkedHashMap<UUID, Entry> entries;
+    private final Map<String, UUID> idsBySlug = new HashMap<>();
+
+    // Bumped by every eviction; a load that started before it must not be stored
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public ProductResponseCache(@Value("${product-cache.max-entries:1000}") int maxEntries,
+                                @Value("${product-cache.ttl-seconds:300}") long ttlSeconds,
+                                MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                if (size() > ProductResponseCache.this.maxEntries) {
+                    idsBySlug.remove(eldest.getValue().slug);
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = meterRegistry.counter("product.cache.requests", "result", "hit");
+        this.misses = meterRegistry.counter("product.cache.requests", "result", "miss");
+        this.evictions = meterRegistry.counter("product.cache.evictions");
+        Gauge.builder("product.cache.size", this, ProductResponseCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Read this before loading a product and pass it to put
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized ProductResponse getById(UUID id) {
+        return lookup(id);
+    }
+
+    public synchronized ProductResponse getBySlug(String slug) {
+        UUID id = idsBySlug.get(slug);
+        return lookup(id);
+    }
+
+    /**
+     * Store a freshly mapped response, unless a product was evicted since the load started
+     */
+    public synchronized void put(ProductResponse response, long loadedAtGeneration) {
+        if (loadedAtGeneration != generation || response.getId() == null) {
+            return;
+        }
+        Entry previous = entries.put(response.getId(),
+                new Entry(response, response.getSlug(), LocalDateTime.now().plusSeconds(ttlSeconds)));
+        if (previous != null && previous.slug != null) {
+            idsBySlug.remove(previous.slug);
+        }
+        if (response.getSlug() != null) {
+            idsBySlug.put(response.getSlug(), response.getId());
+        }
+    }
+
+    /**
+     * Drop one product once the current transaction commits, right away when there is none
+     */
+    public void evict(UUID productId) {
+        afterCommit(() -> remove(productId));
+    }
+
+    public void evict(Collection<UUID> productIds) {
+        Set<UUID> ids = new HashSet<>(productIds);
+        afterCommit(() -> ids.forEach(this::remove));
+    }
+
+    /**
+     * Drop everything, for changes shared by many products such as a category or region rename
+     */
+    public void evictAll() {
+        afterCommit(this::clear);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private ProductResponse lookup(UUID id) {
+        Entry entry = id != null ? entries.get(id) : null;
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (LocalDateTime.now().isAfter(entry.expiresAt)) {
+            entries.remove(id);
+            idsBySlug.remove(entry.slug);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.response;
+    }
+
+    private synchronized void remove(UUID productId) {
+        generation++;
+        Entry entry = entries.remove(productId);
+        if (entry != null) {
+            idsBySlug.remove(entry.slug);
+            evictions.increment();
+        }
+    }
+
+    private synchronized void clear() {
+        generation++;
+        evictions.increment(entries.size());
+        entries.clear();
+        idsBySlug.clear();
+    }
+
+    // Evicting before commit would let a concurrent read cache the old row again
+    private void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+
+    private static class Entry {
+        private final ProductResponse response;
+        private final String slug;
+        private final LocalDateTime expiresAt;
+
+        Entry(ProductResponse response, String slug, LocalDateTime expiresAt) {
+            this.response = response;
+            this.slug = slug;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.application.dto.response.ProductSuggestionResponse;
+import com.mosiacstore.mosiac.domain.product.Product;
+import com.mosiacstore.mosiac.infrastructure.repository.ProductRepository;
+import com.mosiacstore.mosiac.infrastructure.util.TextNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the name, SKU, category and region of active products,
+ * with a prefix trie over its terms for search-as-you-type. Terms are folded the way
+ * slugs are (see TextNormalizer) so "ao dai" finds "Áo dài".
+ * Built at startup and kept current per product once each write on this node commits;
+ * ProductSuggestIndexScheduler rebuilds it periodically to pick up writes made on other nodes
+ */
+@Service
+@Slf4j
+public class ProductSuggestIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Field weights, a term found in several fields of a product keeps the highest
+    private static final int NAME_WEIGHT = 4;
+    private static final int SKU_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int REGION_WEIGHT = 1;
+
+    // Completions looked up for the last, still being typed, word of a query
+    private static final int MAX_PREFIX_EXPANSIONS = 256;
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readTransaction;
+
+    // Guards the structures below; writers are additionally serialized by synchronized
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Map<UUID, Document> documents = new HashMap<>();
+    private Map<String, Map<UUID, Integer>> postings = new HashMap<>();
+    private TrieNode trie = new TrieNode();
+
+    public ProductSuggestIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        // Also used from afterCommit callbacks, where the caller's resources are still bound
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildNow();
+    }
+
+    /**
+     * Best matches for a partially typed query. Every word must match a term of the product,
+     * the last one as a prefix
+     */
+    public List<ProductSuggestionResponse> suggest(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<UUID, Integer> scores = null;
+            for (int i = 0; i < tokens.size(); i++) {
+                Map<UUID, Integer> matches = i == tokens.size() - 1
+                        ? prefixMatches(tokens.get(i))
+                        : exactMatches(tokens.get(i));
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    scores.keySet().retainAll(matches.keySet());
+                    scores.replaceAll((id, score) -> score + matches.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            Comparator<Map.Entry<UUID, Integer>> ranking = Map.Entry.<UUID, Integer>comparingByValue().reversed();
+            ranking = ranking
+                    .thenComparing(entry -> documents.get(entry.getKey()).viewCount, Comparator.reverseOrder())
+                    .thenComparing(entry -> documents.get(entry.getKey()).suggestion.getName());
+
+            return scores.entrySet().stream()
+                    .sorted(ranking)
+                    .limit(limit)
+                    .map(entry -> documents.get(entry.getKey()).suggestion)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Re-read one product once the current transaction commits and index it, or drop it when
+     * it was deleted or deactivated
+     */
+    public void reindex(UUID productId) {
+        afterCommit(() -> reindexNow(productId));
+    }
+
+    /**
+     * Rebuild everything once the current transaction commits (right away outside one), for changes
+     * shared by many products such as a category or region rename, and for the periodic refresh
+     */
+    public void rebuild() {
+        afterCommit(this::rebuildNow);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        return Arrays.stream(SEPARATORS.split(TextNormalizer.fold(text)))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    private synchronized void reindexNow(UUID productId) {
+        try {
+            Document document = readTransaction.execute(status ->
+                    productRepository.findWithCategoryAndRegionByIdIn(List.of(productId)).stream()
+                            .filter(product -> Boolean.TRUE.equals(product.getActive()))
+                            .map(ProductSuggestIndex::toDocument)
+                            .findFirst()
+                            .orElse(null));
+
+            lock.writeLock().lock();
+            try {
+                removeDocument(productId);
+                if (document != null) {
+                    addDocument(document);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (RuntimeException e) {
+            // The write itself succeeded; the entry is corrected by the next write or restart
+            log.warn("Could not update suggestion index for product {}: {}", productId, e.getMessage());
+        }
+    }
+
+    // Holding the writer monitor while loading makes commits that land meanwhile reindex after the swap
+    private synchronized void rebuildNow() {
+        long start = System.currentTimeMillis();
+        try {
+            List<Document> loaded = readTransaction.execute(status ->
+                    productRepository.findAllActiveWithCategoryAndRegion().stream()
+                            .map(ProductSuggestIndex::toDocument)
+                            .toList());
+
+            lock.writeLock().lock();
+            try {
+                documents = new HashMap<>();
+                postings = new HashMap<>();
+                trie = new TrieNode();
+                if (loaded != null) {
+                    loaded.forEach(this::addDocument);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Suggestion index built with {} products, {} terms in {} ms",
+                    size(), postings.size(), System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            log.error("Could not build suggestion index", e);
+        }
+    }
+
+    private Map<UUID, Integer> exactMatches(String token) {
+        Map<UUID, Integer> matches = new HashMap<>();
+        postings.getOrDefault(token, Map.of()).forEach((id, weight) -> matches.put(id, weight * 2));
+        return matches;
+    }
+
+    // A whole-word match outranks a completion of the same field
+    private Map<UUID, Integer> prefixMatches(String prefix) {
+        Map<UUID, Integer> matches = new HashMap<>();
+        for (String term : trie.complete(prefix, MAX_PREFIX_EXPANSIONS)) {
+            int factor = term.equals(prefix) ? 2 : 1;
+            postings.get(term).forEach((id, weight) -> matches.merge(id, weight * factor, Math::max));
+        }
+        return matches;
+    }
+
+    private void addDocument(Document document) {
+        documents.put(document.suggestion.getId(), document);
+        document.terms.forEach((term, weight) -> {
+            Map<UUID, Integer> products = postings.computeIfAbsent(term, key -> {
+                trie.insert(key);
+                return new HashMap<>();
+            });
+            products.put(document.suggestion.getId(), weight);
+        });
+    }
+
+    private void removeDocument(UUID productId) {
+        Document document = documents.remove(productId);
+        if (document == null) {
+            return;
+        }
+        for (String term : document.terms.keySet()) {
+            Map<UUID, Integer> products = postings.get(term);
+            if (products == null) {
+                continue;
+            }
+            products.remove(productId);
+            if (products.isEmpty()) {
+                postings.remove(term);
+                trie.remove(term);
+            }
+        }
+    }
+
+    private static Document toDocument(Product product) {
+        String categoryName = product.getCategory() != null ? product.getCategory().getName() : null;
+        String regionName = product.getRegion() != null ? product.getRegion().getName() : null;
+
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, product.getName(), NAME_WEIGHT);
+        addTerms(terms, product.getSku(), SKU_WEIGHT);
+        addTerms(terms, categoryName, CATEGORY_WEIGHT);
+        addTerms(terms, regionName, REGION_WEIGHT);
+
+        ProductSuggestionResponse suggestion = ProductSuggestionResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .slug(product.getSlug())
+                .sku(product.getSku())
+                .price(product.getPrice())
+                .categoryName(categoryName)
+                .regionName(regionName)
+                .build();
+        int viewCount = product.getViewCount() != null ? product.getViewCount() : 0;
+        return new Document(suggestion, terms, viewCount);
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        tokenize(text).forEach(token -> terms.merge(token, weight, Math::max));
+    }
+
+    // Updating before commit would expose rows that may still roll back
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+
+    private static class Document {
+        private final ProductSuggestionResponse suggestion;
+        private final Map<String, Integer> terms;
+        private final int viewCount;
+
+        Document(ProductSuggestionResponse suggestion, Map<String, Integer> terms, int viewCount) {
+            this.suggestion = suggestion;
+            this.terms = terms;
+            this.viewCount = viewCount;
+        }
+    }
+
+    /**
+     * Character trie over the indexed terms; children are sorted so completions come out in a stable order
+     */
+    private static class TrieNode {
+        private final Map<Character, TrieNode> children = new TreeMap<>();
+        private boolean terminal;
+
+        void insert(String term) {
+            TrieNode node = this;
+            for (int i = 0; i < term.length(); i++) {
+                node = node.children.computeIfAbsent(term.charAt(i), key -> new TrieNode());
+            }
+            node.terminal = true;
+        }
+
+        void remove(String term) {
+            Deque<TrieNode> path = new ArrayDeque<>();
+            TrieNode node = this;
+            for (int i = 0; i < term.length() && node != null; i++) {
+                path.push(node);
+                node = node.children.get(term.charAt(i));
+            }
+            if (node == null) {
+                return;
+            }
+            node.terminal = false;
+
+            // Prune the branch back up to the first node still in use
+            for (int i = term.length() - 1; i >= 0 && !node.terminal && node.children.isEmpty(); i--) {
+                TrieNode parent = path.pop();
+                parent.children.remove(term.charAt(i));
+                node = parent;
+            }
+        }
+
+        // Terms starting with the prefix, shortest first
+        List<String> complete(String prefix, int max) {
+            TrieNode start = this;
+            for (int i = 0; i < prefix.length() && start != null; i++) {
+                start = start.children.get(prefix.charAt(i));
+            }
+            if (start == null) {
+                return Collections.emptyList();
+            }
+
+            List<String> terms = new ArrayList<>();
+            Deque<Map.Entry<String, TrieNode>> queue = new ArrayDeque<>();
+            queue.add(Map.entry(prefix, start));
+            while (!queue.isEmpty() && terms.size() < max) {
+                Map.Entry<String, TrieNode> entry = queue.poll();
+                if (entry.getValue().terminal) {
+                    terms.add(entry.getKey());
+                }
+                entry.getValue().children.forEach((character, child) ->
+                        queue.add(Map.entry(entry.getKey() + character, child)));
+            }
+            return terms;
+        }
+    }
+}
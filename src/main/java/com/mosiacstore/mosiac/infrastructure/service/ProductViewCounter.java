@@ -0,0 +1,76 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.infrastructure.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind page view counter. Views are added to an in-memory LongAdder per product
+ * and written to products.view_count in one batched update by ProductViewFlushScheduler,
+ * and once more on shutdown. Adders are kept per product, so the map is bounded by the catalog
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductViewCounter {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<UUID, LongAdder> pendingViews = new ConcurrentHashMap<>();
+
+    public void record(UUID productId) {
+        pendingViews.computeIfAbsent(productId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Write the views counted since the last flush
+     *
+     * @return Number of products updated
+     */
+    public synchronized int flush() {
+        List<UUID> ids = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        for (Map.Entry<UUID, LongAdder> entry : pendingViews.entrySet()) {
+            // Views recorded while resetting land either in this delta or in the next one
+            long delta = entry.getValue().sumThenReset();
+            if (delta > 0) {
+                ids.add(entry.getKey());
+                deltas.add(delta);
+            }
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            UUID[] idArray = ids.toArray(UUID[]::new);
+            long[] deltaArray = deltas.stream().mapToLong(Long::longValue).toArray();
+            transactionTemplate.executeWithoutResult(status -> productRepository.addViewCounts(idArray, deltaArray));
+            return ids.size();
+        } catch (RuntimeException e) {
+            // Put the views back so the next flush retries them
+            for (int i = 0; i < ids.size(); i++) {
+                pendingViews.computeIfAbsent(ids.get(i), id -> new LongAdder()).add(deltas.get(i));
+            }
+            log.warn("Failed to flush page views of {} products, retrying next run", ids.size(), e);
+            return 0;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        int flushed = flush();
+        log.info("Flushed page views of {} products on shutdown", flushed);
+    }
+}
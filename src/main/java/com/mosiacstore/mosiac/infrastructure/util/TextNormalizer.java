@@ -0,0 +1,31 @@
+package com.mosiacstore.mosiac.infrastructure.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Accent folding shared by slugs and product suggestions, so "Áo dài Đà Lạt" reads as "ao dai da lat" everywhere
+ */
+public final class TextNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Accents and Vietnamese tone marks removed, lower case; null becomes an empty string
+     */
+    public static String fold(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                // đ has no decomposition, so NFD leaves it alone
+                .replace('đ', 'd')
+                .replace('Đ', 'D');
+        return folded.toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,10 +2,14 @@ package com.mosiacstore.mosiac.web.controller;
 
 import com.mosiacstore.mosiac.application.dto.response.ApiResponse;
 import com.mosiacstore.mosiac.application.exception.EntityNotFoundException;
+import com.mosiacstore.mosiac.application.service.OrderDailyStatsService;
+import com.mosiacstore.mosiac.application.service.UserOrderSummaryService;
 import com.mosiacstore.mosiac.application.service.Impl.EmailService;
+import com.mosiacstore.mosiac.domain.analytics.OrderStatsSnapshot;
 import com.mosiacstore.mosiac.domain.order.Order;
 import com.mosiacstore.mosiac.infrastructure.repository.OrderRepository;
 import com.mosiacstore.mosiac.infrastructure.security.CustomUserDetail;
+import com.mosiacstore.mosiac.infrastructure.service.OptimisticRetryExecutor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +27,9 @@ public class AdminShippingController {
 
     private final OrderRepository orderRepository;
     private final EmailService emailService;
+    private final OrderDailyStatsService orderDailyStatsService;
+    private final UserOrderSummaryService userOrderSummaryService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
 
     @PostMapping("/{id}/shipping-fee")
     public ResponseEntity<ApiResponse> setShippingFee(
@@ -30,20 +37,28 @@ public class AdminShippingController {
             @RequestParam BigDecimal shippingFee,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
 
-        // Get the order
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + id));
+        // Recomputed from a fresh read if another edit of the order committed first
+        Order order = optimisticRetryExecutor.execute("setShippingFee", () -> {
+            // Get the order
+            Order current = orderRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Order not found with ID: " + id));
 
-        // Update shipping fee
-        order.setShippingFee(shippingFee);
+            OrderStatsSnapshot statsBefore = orderDailyStatsService.snapshot(current);
 
-        // Recalculate total amount
-        order.setTotalAmount(order.getTotalProductAmount().add(shippingFee));
+            // Update shipping fee
+            current.setShippingFee(shippingFee);
 
-        // Save the updated order
-        orderRepository.save(order);
+            // Recalculate total amount
+            current.setTotalAmount(current.getTotalProductAmount().add(shippingFee));
 
-        // Send email notification
+            // Save the updated order
+            Order saved = orderRepository.save(current);
+            orderDailyStatsService.recordChanged(statsBefore, saved);
+            userOrderSummaryService.markChanged(saved);
+            return saved;
+        });
+
+        // Send email notification once the new fee is committed
         emailService.sendShippingFeeEmail(order, shippingFee);
 
         return ResponseEntity.ok(new ApiResponse(true, "Shipping fee updated and notification sent successfully"));
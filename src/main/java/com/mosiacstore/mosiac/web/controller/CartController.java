@@ -3,13 +3,17 @@ package com.mosiacstore.mosiac.web.controller;
 import com.mosiacstore.mosiac.application.dto.request.CartItemRequest;
 import com.mosiacstore.mosiac.application.dto.response.ApiResponse;
 import com.mosiacstore.mosiac.application.dto.response.CartResponse;
+import com.mosiacstore.mosiac.application.dto.response.StockReservationResponse;
 import com.mosiacstore.mosiac.application.service.CartService;
+import com.mosiacstore.mosiac.application.service.InventoryService;
 import com.mosiacstore.mosiac.infrastructure.security.CustomUserDetail;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,6 +26,7 @@ import java.util.UUID;
 public class CartController {
 
     private final CartService cartService;
+    private final InventoryService inventoryService;
 
 
     @Operation(summary = "Get current cart")
@@ -94,4 +99,27 @@ public class CartController {
         UUID userId = currentUser.getUser().getId();
         return ResponseEntity.ok(cartService.mergeGuestCartWithUserCart(userId, guestId));
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Hold the stock of the cart while checkout is in progress",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @PostMapping("/reservations")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StockReservationResponse> reserveCart(
+            @AuthenticationPrincipal CustomUserDetail currentUser) {
+        return ResponseEntity.ok(inventoryService.reserveCart(currentUser.getUser().getId()));
+    }
+
+    @Operation(
+            summary = "Release the stock held for checkout",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @DeleteMapping("/reservations")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse> releaseReservations(
+            @AuthenticationPrincipal CustomUserDetail currentUser) {
+        inventoryService.releaseReservations(currentUser.getUser().getId());
+        return ResponseEntity.ok(new ApiResponse(true, "Stock reservations released"));
+    }
+}
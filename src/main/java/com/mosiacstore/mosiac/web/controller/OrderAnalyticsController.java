@@ -1,7 +1,9 @@
 package com.mosiacstore.mosiac.web.controller;
 
 import com.mosiacstore.mosiac.application.dto.analytics.*;
+import com.mosiacstore.mosiac.application.dto.response.ApiResponse;
 import com.mosiacstore.mosiac.application.service.OrderAnalyticsService;
+import com.mosiacstore.mosiac.application.service.OrderDailyStatsService;
 import com.mosiacstore.mosiac.infrastructure.security.CustomUserDetail;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,6 +15,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,6 +27,7 @@ import java.util.List;
 public class OrderAnalyticsController {
 
     private final OrderAnalyticsService orderAnalyticsService;
+    private final OrderDailyStatsService orderDailyStatsService;
 
     @Operation(
             summary = "Get revenue analytics",
@@ -110,4 +114,17 @@ public class OrderAnalyticsController {
             @AuthenticationPrincipal CustomUserDetail currentUser) {
         return ResponseEntity.ok(orderAnalyticsService.getDashboardStats());
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Rebuild daily order statistics for a date range",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @PostMapping("/daily-stats/rebuild")
+    public ResponseEntity<ApiResponse> rebuildDailyStats(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @AuthenticationPrincipal CustomUserDetail currentUser) {
+        int rows = orderDailyStatsService.rebuild(startDate, endDate);
+        return ResponseEntity.ok(new ApiResponse(true, "Rebuilt " + rows + " daily statistic rows"));
+    }
+}
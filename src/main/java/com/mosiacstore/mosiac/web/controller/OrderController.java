@@ -1,27 +1,33 @@
 package com.mosiacstore.mosiac.web.controller;
 
+import com.mosiacstore.mosiac.application.dto.request.BulkOrderStatusRequest;
 import com.mosiacstore.mosiac.application.dto.request.CheckoutRequest;
 import com.mosiacstore.mosiac.application.dto.request.OrderItemRequest;
 import com.mosiacstore.mosiac.application.dto.request.PaymentConfirmationRequest;
 import com.mosiacstore.mosiac.application.dto.request.UpdateOrderItemsRequest;
 import com.mosiacstore.mosiac.application.dto.response.*;
+import com.mosiacstore.mosiac.application.service.OrderExportJobService;
 import com.mosiacstore.mosiac.application.service.OrderService;
 import com.mosiacstore.mosiac.application.service.PaymentService;
+import com.mosiacstore.mosiac.application.service.UserOrderSummaryService;
 import com.mosiacstore.mosiac.infrastructure.security.CustomUserDetail;
+import com.mosiacstore.mosiac.infrastructure.service.IdempotencyCache;
+import com.mosiacstore.mosiac.infrastructure.service.OptimisticRetryExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -36,6 +42,10 @@ public class OrderController {
 
     private final OrderService orderService;
     private final PaymentService paymentService;
+    private final UserOrderSummaryService userOrderSummaryService;
+    private final OrderExportJobService orderExportJobService;
+    private final IdempotencyCache idempotencyCache;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
 
 
     @Operation(
@@ -52,6 +62,18 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getUserOrders(currentUser.getUser().getId(), page, size, sort));
     }
 
+    @Operation(
+            summary = "Get user order summary",
+            description = "Status counts, amount spent and the latest order headers, read from one precomputed row",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @GetMapping("/user/orders/summary")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UserOrderSummaryResponse> getUserOrderSummary(
+            @AuthenticationPrincipal CustomUserDetail currentUser) {
+        return ResponseEntity.ok(userOrderSummaryService.getSummary(currentUser.getUser().getId()));
+    }
+
     @Operation(
             summary = "Get order by ID",
             security = @SecurityRequirement(name = "Bearer Authentication")
@@ -78,14 +100,20 @@ public class OrderController {
 
     @Operation(
             summary = "Checkout",
+            description = "Retries carrying the same Idempotency-Key return the first result instead of placing another order",
             security = @SecurityRequirement(name = "Bearer Authentication")
     )
     @PostMapping("/checkout")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<CheckoutResponse> checkout(
             @Valid @RequestBody CheckoutRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
-        CheckoutResponse response = orderService.checkout(request, currentUser.getUser().getId());
+        UUID userId = currentUser.getUser().getId();
+        CheckoutResponse response = idempotencyKey == null
+                ? orderService.checkout(request, userId)
+                : idempotencyCache.execute("checkout:" + userId, idempotencyKey, request,
+                        () -> orderService.checkout(request, userId));
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
@@ -134,6 +162,28 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getAllOrders(keyword, status, userId, startDate, endDate, page, size, sort));
     }
 
+    @Operation(
+            summary = "Get all orders with cursor pagination (admin)",
+            description = "Pass mode=cursor; use nextCursor from the response to fetch the next page",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @GetMapping(value = "/admin/orders", params = "mode=cursor")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CursorPageResponse<OrderResponse>> getAllOrdersByCursor(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @AuthenticationPrincipal CustomUserDetail currentUser) {
+        return ResponseEntity.ok(orderService.getAllOrdersByCursor(
+                keyword, status, userId, startDate, endDate, cursor, size, direction, includeTotal));
+    }
+
     @Operation(
             summary = "Update order status (admin)",
             security = @SecurityRequirement(name = "Bearer Authentication")
@@ -149,11 +199,28 @@ public class OrderController {
         log.info("Admin {} updating order {} status to {} with note: {}",
                 currentUser.getUser().getEmail(), id, status, adminNote);
 
-        OrderResponse response = orderService.updateOrderStatus(id, status, adminNote, currentUser.getUser().getId());
+        OrderResponse response = optimisticRetryExecutor.execute("updateOrderStatus",
+                () -> orderService.updateOrderStatus(id, status, adminNote, currentUser.getUser().getId()));
 
         return ResponseEntity.ok(response);
     }
 
+    @Operation(
+            summary = "Update the status of many orders at once (admin)",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @PutMapping("/admin/orders/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<BulkOrderStatusResponse> updateOrderStatuses(
+            @Valid @RequestBody BulkOrderStatusRequest request,
+            @AuthenticationPrincipal CustomUserDetail currentUser) {
+
+        log.info("Admin {} moving {} orders to {}",
+                currentUser.getUser().getEmail(), request.getOrderIds().size(), request.getStatus());
+
+        return ResponseEntity.ok(orderService.updateOrderStatuses(request, currentUser.getUser().getId()));
+    }
+
     @Operation(
             summary = "Validate payment (admin)",
             security = @SecurityRequirement(name = "Bearer Authentication")
@@ -165,7 +232,8 @@ public class OrderController {
             @RequestParam boolean isValid,
             @RequestParam(required = false) String adminNote,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
-        return ResponseEntity.ok(paymentService.validatePayment(id, isValid, adminNote, currentUser.getUser().getId()));
+        return ResponseEntity.ok(optimisticRetryExecutor.execute("validatePayment",
+                () -> paymentService.validatePayment(id, isValid, adminNote, currentUser.getUser().getId())));
     }
 
     @Operation(
@@ -191,7 +259,8 @@ public class OrderController {
             @PathVariable UUID id,
             @RequestParam String reason,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
-        return ResponseEntity.ok(paymentService.refundPayment(id, reason, currentUser.getUser().getId()));
+        return ResponseEntity.ok(optimisticRetryExecutor.execute("refundPayment",
+                () -> paymentService.refundPayment(id, reason, currentUser.getUser().getId())));
     }
 
     /**
@@ -222,7 +291,8 @@ public class OrderController {
             @PathVariable UUID id,
             @Valid @RequestBody UpdateOrderItemsRequest request,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
-        return ResponseEntity.ok(orderService.updateOrderItems(id, request, currentUser.getUser().getId()));
+        return ResponseEntity.ok(optimisticRetryExecutor.execute("updateOrderItems",
+                () -> orderService.updateOrderItems(id, request, currentUser.getUser().getId())));
     }
 
     /**
@@ -238,7 +308,8 @@ public class OrderController {
             @PathVariable UUID id,
             @Valid @RequestBody OrderItemRequest request,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
-        return ResponseEntity.ok(orderService.addOrderItem(id, request, currentUser.getUser().getId()));
+        return ResponseEntity.ok(optimisticRetryExecutor.execute("addOrderItem",
+                () -> orderService.addOrderItem(id, request, currentUser.getUser().getId())));
     }
 
     /**
@@ -254,7 +325,8 @@ public class OrderController {
             @PathVariable UUID id,
             @PathVariable UUID itemId,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
-        return ResponseEntity.ok(orderService.removeOrderItem(id, itemId, currentUser.getUser().getId()));
+        return ResponseEntity.ok(optimisticRetryExecutor.execute("removeOrderItem",
+                () -> orderService.removeOrderItem(id, itemId, currentUser.getUser().getId())));
     }
 
     /**
@@ -266,19 +338,59 @@ public class OrderController {
     )
     @GetMapping("/admin/orders/export")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<Resource> exportOrders(
+    public ResponseEntity<StreamingResponseBody> exportOrders(
             @RequestParam(required = false, defaultValue = "csv") String format,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
 
-        Resource resource = orderService.exportOrders(format, status, startDate, endDate);
+        // Rows are written to the response as they are read, nothing is buffered in full
+        StreamingResponseBody body = outputStream ->
+                orderService.exportOrders(format, status, startDate, endDate, outputStream);
 
         String filename = "orders_" + LocalDate.now() + "." + format.toLowerCase();
+        boolean excel = "xlsx".equalsIgnoreCase(format) || "excel".equalsIgnoreCase(format);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .body(resource);
+                .contentType(excel
+                        ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                        : MediaType.parseMediaType("text/csv"))
+                .body(body);
+    }
+
+    /**
+     * Start a background order export (admin)
+     */
+    @Operation(
+            summary = "Create order export job (admin)",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @PostMapping("/admin/orders/export-jobs")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExportJobResponse> createExportJob(
+            @RequestParam(required = false, defaultValue = "csv") String format,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @AuthenticationPrincipal CustomUserDetail currentUser) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(orderExportJobService.createJob(format, status, startDate, endDate, currentUser.getUser().getId()));
+    }
+
+    /**
+     * Get progress and download URL of an export job (admin)
+     */
+    @Operation(
+            summary = "Get order export job (admin)",
+            security = @SecurityRequirement(name = "Bearer Authentication")
+    )
+    @GetMapping("/admin/orders/export-jobs/{jobId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ExportJobResponse> getExportJob(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal CustomUserDetail currentUser) {
+        return ResponseEntity.ok(orderExportJobService.getJob(jobId));
     }
-}
\ No newline at end of file
+}
@@ -5,11 +5,14 @@ import com.mosiacstore.mosiac.application.dto.request.ProductVariantRequest;
 import com.mosiacstore.mosiac.application.dto.request.QRCodeRequest;
 import com.mosiacstore.mosiac.application.dto.response.ApiResponse;
 import com.mosiacstore.mosiac.application.dto.response.PageResponse;
+import com.mosiacstore.mosiac.application.dto.response.ProductPageResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductImageResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductResponse;
+import com.mosiacstore.mosiac.application.dto.response.ProductSuggestionResponse;
 import com.mosiacstore.mosiac.application.dto.response.ProductVariantResponse;
 import com.mosiacstore.mosiac.application.service.ProductService;
 import com.mosiacstore.mosiac.infrastructure.security.CustomUserDetail;
+import com.mosiacstore.mosiac.infrastructure.service.OptimisticRetryExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -33,8 +36,15 @@ import java.util.UUID;
 public class ProductController {
 
     private final ProductService productService;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
 
-    @Operation(summary = "Get all products with pagination and filtering")
+    @Operation(
+            summary = "Get all products with pagination and filtering",
+            description = "Keywords use accent-insensitive full-text search by default, most relevant first " +
+                    "unless a sort is given; searchMode=contains keeps the substring match on name and description. " +
+                    "Without a keyword or sort, products are listed newest first. " +
+                    "includeFacets=true adds category, region, price band and featured counts for the same filters"
+    )
     @GetMapping("/products")
     public ResponseEntity<PageResponse<ProductResponse>> getProducts(
             @RequestParam(required = false) String keyword,
@@ -46,10 +56,17 @@ public class ProductController {
             @RequestParam(required = false) Boolean active,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
-            @RequestParam(defaultValue = "createdAt,desc") String sort) {
-
-        return ResponseEntity.ok(productService.getProducts(
-                keyword, categoryId, regionId, minPrice, maxPrice, featured, active, page, size, sort));
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "fulltext") String searchMode,
+            @RequestParam(defaultValue = "false") boolean includeFacets) {
+
+        PageResponse<ProductResponse> products = productService.getProducts(
+                keyword, categoryId, regionId, minPrice, maxPrice, featured, active, page, size, sort, searchMode);
+        if (!includeFacets) {
+            return ResponseEntity.ok(products);
+        }
+        return ResponseEntity.ok(new ProductPageResponse(products, productService.getProductFacets(
+                keyword, categoryId, regionId, minPrice, maxPrice, featured, active, searchMode)));
     }
 
     @Operation(summary = "Get product by ID")
@@ -64,6 +81,18 @@ public class ProductController {
         return ResponseEntity.ok(productService.getProductBySlug(slug));
     }
 
+    @Operation(
+            summary = "Suggest products while typing",
+            description = "Matches name, SKU, category and region, ignoring accents; the last word is matched as a prefix"
+    )
+    @GetMapping("/products/suggest")
+    public ResponseEntity<List<ProductSuggestionResponse>> suggestProducts(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "8") int limit) {
+
+        return ResponseEntity.ok(productService.suggestProducts(query, limit));
+    }
+
     @Operation(summary = "Get featured products")
     @GetMapping("/products/featured")
     public ResponseEntity<PageResponse<ProductResponse>> getFeaturedProducts(
@@ -97,7 +126,8 @@ public class ProductController {
             @Valid @RequestBody ProductRequest request,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
 
-        return ResponseEntity.ok(productService.updateProduct(id, request));
+        return ResponseEntity.ok(optimisticRetryExecutor.execute("updateProduct",
+                () -> productService.updateProduct(id, request)));
     }
 
     @Operation(
@@ -155,7 +185,8 @@ public class ProductController {
             @RequestParam boolean featured,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
 
-        return ResponseEntity.ok(productService.setProductFeatured(id, featured));
+        return ResponseEntity.ok(optimisticRetryExecutor.execute("setProductFeatured",
+                () -> productService.setProductFeatured(id, featured)));
     }
 
     @Operation(
@@ -183,7 +214,8 @@ public class ProductController {
             @Valid @RequestBody ProductVariantRequest request,
             @AuthenticationPrincipal CustomUserDetail currentUser) {
 
-        return ResponseEntity.ok(productService.updateProductVariant(variantId, request));
+        return ResponseEntity.ok(optimisticRetryExecutor.execute("updateProductVariant",
+                () -> productService.updateProductVariant(variantId, request)));
     }
 
     @Operation(
@@ -0,0 +1,37 @@
+-- Daily order rollup used by the admin analytics endpoints
+-- One row per day x status x payment method x province, maintained incrementally on order changes
+CREATE TABLE IF NOT EXISTS order_daily_stats (
+                                  stat_date DATE NOT NULL,
+                                  status VARCHAR(20) NOT NULL,
+                                  payment_method VARCHAR(20) NOT NULL,
+                                  province_code VARCHAR(20) NOT NULL,
+                                  order_count BIGINT NOT NULL DEFAULT 0,
+                                  revenue DECIMAL(14,2) NOT NULL DEFAULT 0,
+                                  updated_at TIMESTAMP,
+                                  PRIMARY KEY (stat_date, status, payment_method, province_code)
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_daily_stats_status_date ON order_daily_stats (status, stat_date);
+
+-- Partial-day edges of analytics ranges are still aggregated from orders by creation time
+CREATE INDEX IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+-- Backfill the rollup from existing orders
+INSERT INTO order_daily_stats (stat_date, status, payment_method, province_code, order_count, revenue, updated_at)
+SELECT CAST(o.created_at AS DATE),
+       CAST(o.status AS VARCHAR),
+       COALESCE(CAST(p.payment_method AS VARCHAR), 'NONE'),
+       COALESCE(a.province_code, 'UNKNOWN'),
+       COUNT(*),
+       COALESCE(SUM(o.total_amount), 0),
+       now()
+FROM orders o
+         LEFT JOIN addresses a ON a.address_id = o.shipping_address_id
+         LEFT JOIN LATERAL (
+    SELECT py.payment_method FROM payments py
+    WHERE py.order_id = o.order_id
+    ORDER BY py.created_at
+    LIMIT 1
+    ) p ON TRUE
+WHERE o.created_at IS NOT NULL
+GROUP BY 1, 2, 3, 4;
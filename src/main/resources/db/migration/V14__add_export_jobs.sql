@@ -0,0 +1,20 @@
+-- Background order export jobs, generated by a bounded worker pool and uploaded to storage
+CREATE TABLE IF NOT EXISTS export_jobs (
+                                  export_job_id UUID PRIMARY KEY,
+                                  requested_by UUID NOT NULL,
+                                  format VARCHAR(10) NOT NULL,
+                                  status_filter VARCHAR(30),
+                                  start_date TIMESTAMP,
+                                  end_date TIMESTAMP,
+                                  state VARCHAR(20) NOT NULL,
+                                  total_rows BIGINT,
+                                  processed_rows BIGINT NOT NULL DEFAULT 0,
+                                  file_url VARCHAR(512),
+                                  error_message VARCHAR(500),
+                                  completed_at TIMESTAMP,
+                                  created_at TIMESTAMP,
+                                  updated_at TIMESTAMP,
+                                  FOREIGN KEY (requested_by) REFERENCES users (user_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_export_jobs_state ON export_jobs (state);
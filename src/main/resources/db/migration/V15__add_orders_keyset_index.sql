@@ -0,0 +1,5 @@
+-- Keyset pagination of the admin order list seeks on (created_at, order_id)
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders (created_at, order_id);
+
+-- Covered by the composite index above
+DROP INDEX IF EXISTS idx_orders_created_at;
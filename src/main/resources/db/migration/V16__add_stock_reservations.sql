@@ -0,0 +1,20 @@
+-- Stock held by customers who started checkout; available = stock_quantity - reserved_quantity
+ALTER TABLE products ADD COLUMN IF NOT EXISTS reserved_quantity INT NOT NULL DEFAULT 0;
+ALTER TABLE product_variants ADD COLUMN IF NOT EXISTS reserved_quantity INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS stock_reservations (
+                                  reservation_id UUID PRIMARY KEY,
+                                  user_id UUID NOT NULL,
+                                  product_id UUID NOT NULL,
+                                  variant_id UUID,
+                                  quantity INT NOT NULL,
+                                  expires_at TIMESTAMP NOT NULL,
+                                  created_at TIMESTAMP,
+                                  updated_at TIMESTAMP,
+                                  FOREIGN KEY (user_id) REFERENCES users (user_id) ON DELETE CASCADE,
+                                  FOREIGN KEY (product_id) REFERENCES products (product_id) ON DELETE CASCADE,
+                                  FOREIGN KEY (variant_id) REFERENCES product_variants (variant_id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_expires_at ON stock_reservations (expires_at);
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_user ON stock_reservations (user_id);
@@ -0,0 +1,2 @@
+-- Each nextval reserves a block of 100 order numbers for one application node
+CREATE SEQUENCE IF NOT EXISTS order_number_seq START WITH 1000 INCREMENT BY 100;
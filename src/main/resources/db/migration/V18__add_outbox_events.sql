@@ -0,0 +1,16 @@
+-- Side effects of order changes (emails, admin notifications), written in the same transaction as the order
+CREATE TABLE IF NOT EXISTS outbox_events (
+                                  outbox_event_id UUID PRIMARY KEY,
+                                  event_type VARCHAR(50) NOT NULL,
+                                  aggregate_id UUID NOT NULL,
+                                  payload VARCHAR(255),
+                                  state VARCHAR(20) NOT NULL,
+                                  attempts INT NOT NULL DEFAULT 0,
+                                  next_attempt_at TIMESTAMP NOT NULL,
+                                  last_error VARCHAR(500),
+                                  dispatched_at TIMESTAMP,
+                                  created_at TIMESTAMP,
+                                  updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_pending ON outbox_events (state, next_attempt_at);
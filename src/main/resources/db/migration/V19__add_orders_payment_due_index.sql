@@ -0,0 +1,2 @@
+-- Lets the payment expiry sweeper find overdue unpaid orders without scanning the table
+CREATE INDEX IF NOT EXISTS idx_orders_status_payment_due ON orders (status, payment_due);
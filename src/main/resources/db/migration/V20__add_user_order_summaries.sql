@@ -0,0 +1,49 @@
+-- Per-user order read model served to the profile and order pages
+-- One row per user, recomputed from that user's orders whenever one of them changes
+CREATE TABLE IF NOT EXISTS user_order_summaries (
+                                  user_id UUID PRIMARY KEY,
+                                  order_count BIGINT NOT NULL DEFAULT 0,
+                                  pending_payment_count BIGINT NOT NULL DEFAULT 0,
+                                  paid_count BIGINT NOT NULL DEFAULT 0,
+                                  processing_count BIGINT NOT NULL DEFAULT 0,
+                                  shipping_count BIGINT NOT NULL DEFAULT 0,
+                                  delivered_count BIGINT NOT NULL DEFAULT 0,
+                                  cancelled_count BIGINT NOT NULL DEFAULT 0,
+                                  total_spent DECIMAL(14,2) NOT NULL DEFAULT 0,
+                                  last_order_at TIMESTAMP,
+                                  recent_orders TEXT NOT NULL DEFAULT '[]',
+                                  updated_at TIMESTAMP,
+                                  FOREIGN KEY (user_id) REFERENCES users(user_id) ON DELETE CASCADE
+);
+
+-- The refresh reads one user's orders newest first
+CREATE INDEX IF NOT EXISTS idx_orders_user_created_at ON orders (user_id, created_at DESC);
+
+-- Backfill from existing orders
+INSERT INTO user_order_summaries (user_id, order_count, pending_payment_count, paid_count, processing_count,
+                                  shipping_count, delivered_count, cancelled_count, total_spent, last_order_at,
+                                  recent_orders, updated_at)
+SELECT o.user_id,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE o.status = 'PENDING_PAYMENT'),
+       COUNT(*) FILTER (WHERE o.status = 'PAID'),
+       COUNT(*) FILTER (WHERE o.status = 'PROCESSING'),
+       COUNT(*) FILTER (WHERE o.status = 'SHIPPING'),
+       COUNT(*) FILTER (WHERE o.status = 'DELIVERED'),
+       COUNT(*) FILTER (WHERE o.status = 'CANCELLED'),
+       COALESCE(SUM(o.total_amount) FILTER (WHERE o.status IN ('PAID', 'PROCESSING', 'SHIPPING', 'DELIVERED')), 0),
+       MAX(o.created_at),
+       CAST((SELECT COALESCE(json_agg(json_build_object(
+                        'id', r.order_id, 'orderNumber', r.order_number, 'status', r.status,
+                        'totalAmount', r.total_amount, 'itemCount', r.item_count, 'createdAt', r.created_at)
+                        ORDER BY r.created_at DESC), '[]')
+             FROM (SELECT o2.order_id, o2.order_number, o2.status, o2.total_amount, o2.created_at,
+                          (SELECT COALESCE(SUM(oi.quantity), 0) FROM order_items oi WHERE oi.order_id = o2.order_id) AS item_count
+                   FROM orders o2
+                   WHERE o2.user_id = o.user_id
+                   ORDER BY o2.created_at DESC
+                   LIMIT 10) r) AS TEXT),
+       now()
+FROM orders o
+WHERE o.user_id IS NOT NULL
+GROUP BY o.user_id;
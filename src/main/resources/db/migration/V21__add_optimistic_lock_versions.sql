@@ -0,0 +1,4 @@
+-- Optimistic lock versions; entity saves check and bump them, bulk and stock updates bump them too
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE product_variants ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
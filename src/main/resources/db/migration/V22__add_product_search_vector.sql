@@ -0,0 +1,21 @@
+-- Full-text product search: accent-folded tsvector kept by Postgres, served by a GIN index
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- unaccent() is only STABLE, generated columns and indexes need an IMMUTABLE wrapper
+CREATE OR REPLACE FUNCTION immutable_unaccent(text)
+    RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT
+AS $$
+SELECT public.unaccent('public.unaccent', $1)
+$$;
+
+-- 'simple' config: no stemming or stop words, which fits Vietnamese; name and SKU weigh most
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', immutable_unaccent(lower(coalesce(name, '')))), 'A') ||
+        setweight(to_tsvector('simple', immutable_unaccent(lower(coalesce(sku, '')))), 'A') ||
+        setweight(to_tsvector('simple', immutable_unaccent(lower(coalesce(short_description, '')))), 'B') ||
+        setweight(to_tsvector('simple', immutable_unaccent(lower(coalesce(description, '')))), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
@@ -0,0 +1,6 @@
+-- Export jobs record the node running them and a heartbeat it refreshes while the job is queued or running,
+-- so a restarting node only fails its own jobs and jobs of vanished nodes are failed once the heartbeat goes stale
+ALTER TABLE export_jobs ADD COLUMN IF NOT EXISTS owner_node VARCHAR(100);
+ALTER TABLE export_jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
+
+UPDATE export_jobs SET heartbeat_at = COALESCE(updated_at, created_at) WHERE heartbeat_at IS NULL;
@@ -0,0 +1,13 @@
+-- Deleting a user cascaded into stock_reservations without giving the held quantity back,
+-- leaving products.reserved_quantity / product_variants.reserved_quantity inflated for good.
+-- A user with live reservations can no longer be hard-deleted; release them first (InventoryService.releaseReservations)
+ALTER TABLE stock_reservations DROP CONSTRAINT IF EXISTS stock_reservations_user_id_fkey;
+ALTER TABLE stock_reservations
+    ADD CONSTRAINT stock_reservations_user_id_fkey FOREIGN KEY (user_id) REFERENCES users (user_id);
+
+-- The product and variant cascades stay: a reservation holds its quantity on the variant row when it has a variant
+-- and on the product row otherwise, and that row is the one being deleted, so the count disappears with it
+COMMENT ON CONSTRAINT stock_reservations_variant_id_fkey ON stock_reservations IS
+    'Cascades: the held quantity lives only in the deleted variant''s reserved_quantity, the product row keeps no count for it';
+COMMENT ON CONSTRAINT stock_reservations_product_id_fkey ON stock_reservations IS
+    'Cascades: reservations without a variant hold their quantity on the deleted product row itself';
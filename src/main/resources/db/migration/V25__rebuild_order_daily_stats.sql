@@ -0,0 +1,25 @@
+-- The V13 backfill picked an order's first payment by created_at alone, so orders with payments created in the
+-- same instant could land under a different payment method than the incremental updates and the rebuild use.
+-- Recompute the whole rollup with the same (created_at, payment_id) order; V13 is left as applied
+LOCK TABLE order_daily_stats IN SHARE ROW EXCLUSIVE MODE;
+
+DELETE FROM order_daily_stats;
+
+INSERT INTO order_daily_stats (stat_date, status, payment_method, province_code, order_count, revenue, updated_at)
+SELECT CAST(o.created_at AS DATE),
+       CAST(o.status AS VARCHAR),
+       COALESCE(CAST(p.payment_method AS VARCHAR), 'NONE'),
+       COALESCE(a.province_code, 'UNKNOWN'),
+       COUNT(*),
+       COALESCE(SUM(o.total_amount), 0),
+       now()
+FROM orders o
+         LEFT JOIN addresses a ON a.address_id = o.shipping_address_id
+         LEFT JOIN LATERAL (
+    SELECT py.payment_method FROM payments py
+    WHERE py.order_id = o.order_id
+    ORDER BY py.created_at, py.payment_id
+    LIMIT 1
+    ) p ON TRUE
+WHERE o.created_at IS NOT NULL
+GROUP BY 1, 2, 3, 4;
@@ -0,0 +1,61 @@
+package com.mosiacstore.mosiac.application.service.Impl;
+
+import com.mosiacstore.mosiac.application.exception.InvalidOperationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 17, 14, 3, 9, 123_456_000);
+        UUID id = UUID.randomUUID();
+
+        OrderServiceImpl.OrderCursor decoded =
+                OrderServiceImpl.OrderCursor.decode(new OrderServiceImpl.OrderCursor(createdAt, id).encode());
+
+        assertThat(decoded.createdAt).isEqualTo(createdAt);
+        assertThat(decoded.id).isEqualTo(id);
+    }
+
+    @Test
+    void cursorOnAWholeMinuteRoundTrips() {
+        // LocalDateTime.toString drops zero seconds, the token must still parse back
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        UUID id = UUID.randomUUID();
+
+        OrderServiceImpl.OrderCursor decoded =
+                OrderServiceImpl.OrderCursor.decode(new OrderServiceImpl.OrderCursor(createdAt, id).encode());
+
+        assertThat(decoded.createdAt).isEqualTo(createdAt);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = new OrderServiceImpl.OrderCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void malformedTokensAreRejected() {
+        String missingId = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("2024-01-01T00:00".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("yesterday|" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> OrderServiceImpl.OrderCursor.decode("not base64!"))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> OrderServiceImpl.OrderCursor.decode(missingId))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> OrderServiceImpl.OrderCursor.decode(badDate))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+}
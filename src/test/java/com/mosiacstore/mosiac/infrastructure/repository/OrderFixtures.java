@@ -0,0 +1,75 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.order.Order;
+import com.mosiacstore.mosiac.domain.order.OrderItem;
+import com.mosiacstore.mosiac.domain.order.OrderStatus;
+import com.mosiacstore.mosiac.domain.payment.Payment;
+import com.mosiacstore.mosiac.domain.payment.PaymentMethod;
+import com.mosiacstore.mosiac.domain.payment.PaymentStatus;
+import com.mosiacstore.mosiac.domain.product.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Unsaved products, orders, items and payments with every required column set
+ */
+final class OrderFixtures {
+
+    private static final BigDecimal PRICE = new BigDecimal("100000");
+
+    private OrderFixtures() {
+    }
+
+    static Statistics statistics(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    static Product product(String name, int stock) {
+        Product product = new Product();
+        product.setName(name);
+        product.setSlug(name.toLowerCase(Locale.ROOT).replace(' ', '-') + "-" + suffix());
+        product.setPrice(PRICE);
+        product.setStockQuantity(stock);
+        return product;
+    }
+
+    static Order order(BigDecimal totalAmount) {
+        Order order = new Order();
+        order.setOrderNumber("TEST-" + suffix());
+        order.setStatus(OrderStatus.PENDING_PAYMENT);
+        order.setTotalProductAmount(totalAmount);
+        order.setTotalAmount(totalAmount);
+        order.setRecipientName("Test Recipient");
+        order.setRecipientPhone("0900000000");
+        return order;
+    }
+
+    static OrderItem item(Order order, Product product) {
+        OrderItem item = new OrderItem();
+        item.setOrder(order);
+        item.setProduct(product);
+        item.setProductNameSnapshot(product.getName());
+        item.setPriceSnapshot(product.getPrice());
+        item.setQuantity(1);
+        item.setSubtotal(product.getPrice());
+        return item;
+    }
+
+    static Payment payment(Order order, PaymentMethod method, PaymentStatus status) {
+        Payment payment = new Payment();
+        payment.setOrder(order);
+        payment.setPaymentMethod(method);
+        payment.setAmount(order.getTotalAmount());
+        payment.setStatus(status);
+        return payment;
+    }
+
+    private static String suffix() {
+        return UUID.randomUUID().toString().substring(0, 8);
+    }
+}
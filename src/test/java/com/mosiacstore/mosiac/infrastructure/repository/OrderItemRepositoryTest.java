@@ -0,0 +1,74 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.order.Order;
+import com.mosiacstore.mosiac.domain.order.OrderItem;
+import com.mosiacstore.mosiac.domain.payment.PaymentMethod;
+import com.mosiacstore.mosiac.domain.payment.PaymentStatus;
+import com.mosiacstore.mosiac.domain.product.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresDataJpaTest
+class OrderItemRepositoryTest {
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = OrderFixtures.statistics(entityManagerFactory);
+    }
+
+    /**
+     * Same writes as checkout: the order, its items with one saveAll and the payment.
+     * With JDBC batching each table takes one insert statement whatever the number of items
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 30})
+    void checkoutWritesTakeOneInsertStatementPerTable(int itemCount) {
+        Product product = entityManager.persist(OrderFixtures.product("Batch insert shirt", 100));
+        entityManager.flush();
+        statistics.clear();
+
+        Order savedOrder = orderRepository.save(
+                OrderFixtures.order(product.getPrice().multiply(BigDecimal.valueOf(itemCount))));
+
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderFixtures.item(savedOrder, product));
+        }
+        savedOrder.getOrderItems().addAll(orderItemRepository.saveAll(items));
+
+        paymentRepository.save(OrderFixtures.payment(savedOrder, PaymentMethod.COD, PaymentStatus.PENDING));
+
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(itemCount + 2);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+}
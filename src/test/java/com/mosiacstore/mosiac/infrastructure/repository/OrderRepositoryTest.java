@@ -0,0 +1,121 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.order.Order;
+import com.mosiacstore.mosiac.domain.payment.Payment;
+import com.mosiacstore.mosiac.domain.payment.PaymentMethod;
+import com.mosiacstore.mosiac.domain.payment.PaymentStatus;
+import com.mosiacstore.mosiac.domain.product.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresDataJpaTest
+class OrderRepositoryTest {
+
+    private static final int ITEM_COUNT = 3;
+    private static final int PAYMENT_COUNT = 2;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = OrderFixtures.statistics(entityManagerFactory);
+    }
+
+    @Test
+    void detailLoadsItemsAndPaymentsInTwoStatements() {
+        UUID orderId = persistOrder();
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Order order = orderRepository.findDetailById(orderId).orElseThrow();
+        // Touch everything the admin detail view maps
+        order.getOrderItems().forEach(item -> item.getProduct().getId());
+        order.getPayments().forEach(Payment::getStatus);
+        assertThat(order.getInvoice()).isNull();
+        assertThat(order.getUser()).isNull();
+
+        assertThat(order.getOrderItems()).hasSize(ITEM_COUNT);
+        assertThat(order.getPayments()).hasSize(PAYMENT_COUNT);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    /**
+     * The admin and customer order lists map items and payments of every order on the page.
+     * The invoice is joined and the collections are batch-fetched, so the page costs the same whatever its size
+     */
+    @Test
+    void pageLoadsInTheSameStatementCountForOneAndManyOrders() {
+        long single = mapPageStatementCount(1);
+        long many = mapPageStatementCount(20);
+
+        assertThat(many).isEqualTo(single);
+    }
+
+    private long mapPageStatementCount(int orderCount) {
+        String prefix = "PAGE-" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        Product product = entityManager.persist(OrderFixtures.product("Page shirt", 100));
+        for (int i = 0; i < orderCount; i++) {
+            Order order = OrderFixtures.order(product.getPrice().multiply(BigDecimal.valueOf(ITEM_COUNT)));
+            order.setOrderNumber(prefix + i);
+            for (int j = 0; j < ITEM_COUNT; j++) {
+                order.getOrderItems().add(OrderFixtures.item(order, product));
+            }
+            order.getPayments().add(OrderFixtures.payment(order, PaymentMethod.COD, PaymentStatus.PENDING));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        Specification<Order> spec = (root, query, cb) -> cb.like(root.get("orderNumber"), prefix + "%");
+        Page<Order> page = orderRepository.findAll(spec, PageRequest.of(0, 50, Sort.by(Sort.Direction.DESC, "createdAt")));
+        // Touch everything the list mapping reads
+        page.getContent().forEach(order -> {
+            order.getOrderItems().forEach(item -> item.getProduct().getId());
+            order.getPayments().forEach(Payment::getStatus);
+            assertThat(order.getInvoice()).isNull();
+        });
+
+        assertThat(page.getContent()).hasSize(orderCount);
+        return statistics.getPrepareStatementCount();
+    }
+
+    private UUID persistOrder() {
+        Product product = entityManager.persist(OrderFixtures.product("Query count shirt", 10));
+
+        Order order = OrderFixtures.order(product.getPrice().multiply(BigDecimal.valueOf(ITEM_COUNT)));
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            order.getOrderItems().add(OrderFixtures.item(order, product));
+        }
+        for (int i = 0; i < PAYMENT_COUNT; i++) {
+            order.getPayments().add(OrderFixtures.payment(order, PaymentMethod.BANK_TRANSFER,
+                    i == 0 ? PaymentStatus.FAILED : PaymentStatus.PENDING));
+        }
+
+        entityManager.persist(order);
+        return order.getId();
+    }
+}
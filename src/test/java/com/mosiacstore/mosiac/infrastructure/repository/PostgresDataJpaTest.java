@@ -0,0 +1,26 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Repository test against the configured PostgreSQL database, with Hibernate statistics enabled
+ * so tests can count statements.
+ * stringtype=unspecified lets the enum columns (order_status, payment_status) accept the string-mapped enums
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.datasource.hikari.data-source-properties.stringtype=unspecified"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public @interface PostgresDataJpaTest {
+}
@@ -0,0 +1,46 @@
+package com.mosiacstore.mosiac.infrastructure.repository;
+
+import com.mosiacstore.mosiac.domain.product.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresDataJpaTest
+class ProductRepositoryTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void viewCountsAreAddedFromParallelArrays() {
+        Product viewed = persistProduct(3);
+        Product neverViewed = persistProduct(null);
+        entityManager.flush();
+
+        int updated = productRepository.addViewCounts(
+                new UUID[]{viewed.getId(), neverViewed.getId(), UUID.randomUUID()},
+                new long[]{5, 2, 7});
+        entityManager.clear();
+
+        assertThat(updated).isEqualTo(2);
+        assertThat(entityManager.find(Product.class, viewed.getId()).getViewCount()).isEqualTo(8);
+        assertThat(entityManager.find(Product.class, neverViewed.getId()).getViewCount()).isEqualTo(2);
+    }
+
+    private Product persistProduct(Integer viewCount) {
+        Product product = new Product();
+        product.setName("View count shirt");
+        product.setSlug("view-count-shirt-" + UUID.randomUUID().toString().substring(0, 8));
+        product.setPrice(new BigDecimal("100000"));
+        product.setViewCount(viewCount);
+        return entityManager.persist(product);
+    }
+}
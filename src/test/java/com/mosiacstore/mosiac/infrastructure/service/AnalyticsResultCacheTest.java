@@ -0,0 +1,89 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnalyticsResultCacheTest {
+
+    private final AnalyticsResultCache cache = new AnalyticsResultCache(1000, 30, 86400);
+
+    private final LocalDateTime start = LocalDate.now().minusMonths(2).atStartOfDay();
+    private final LocalDateTime end = LocalDate.now().minusMonths(1).atStartOfDay();
+
+    @Test
+    void periodSpellingsShareOneEntry() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("revenue", "Daily", start, end, (from, to) -> loads.incrementAndGet());
+        cache.get("revenue", " daily ", start, end, (from, to) -> loads.incrementAndGet());
+        cache.get("revenue", "DAILY", start, end, (from, to) -> loads.incrementAndGet());
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void timesWithinTheSameDaysShareOneEntry() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("revenue", "daily", start, end, (from, to) -> loads.incrementAndGet());
+        cache.get("revenue", "daily", start.plusHours(9), end.plusHours(17).plusMinutes(30),
+                (from, to) -> loads.incrementAndGet());
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loaderReceivesTheWholeDayRange() {
+        cache.get("revenue", "daily", start.plusHours(9), end.plusHours(17), (from, to) -> {
+            assertThat(from).isEqualTo(start);
+            assertThat(to).isBefore(end.plusDays(1)).isAfter(end.plusHours(23).plusMinutes(59));
+            return 1;
+        });
+    }
+
+    @Test
+    void differentRangesAreCachedSeparately() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("revenue", "daily", start, end, (from, to) -> loads.incrementAndGet());
+        cache.get("revenue", "daily", start, end.plusDays(1), (from, to) -> loads.incrementAndGet());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void evictionDropsOverlappingHistoricalResults() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("revenue", "daily", start, end, (from, to) -> loads.incrementAndGet());
+        cache.evictOverlapping(start.plusDays(1), start.plusDays(2));
+        cache.get("revenue", "daily", start, end, (from, to) -> loads.incrementAndGet());
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void fullCacheEvictsTheLeastRecentlyUsedEntry() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get("revenue", "daily", start.minusDays(i), end, (from, to) -> loads.incrementAndGet());
+        }
+        // Touch the oldest entry so the second one becomes the least recently used
+        cache.get("revenue", "daily", start, end, (from, to) -> loads.incrementAndGet());
+
+        cache.get("revenue", "daily", start.minusDays(1000), end, (from, to) -> loads.incrementAndGet());
+        cache.get("revenue", "daily", start.minusDays(1000), end, (from, to) -> loads.incrementAndGet());
+        cache.get("revenue", "daily", start, end, (from, to) -> loads.incrementAndGet());
+        cache.get("revenue", "daily", start.minusDays(1), end, (from, to) -> loads.incrementAndGet());
+
+        // 1000 fills, entry 1001 stored and served from cache, the touched entry kept, the LRU one reloaded
+        assertThat(loads).hasValue(1002);
+        assertThat(cache.size()).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,120 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.application.exception.InvalidOperationException;
+import com.mosiacstore.mosiac.application.exception.ResourceConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyCacheTest {
+
+    private final IdempotencyCache cache = new IdempotencyCache();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 3600L);
+    }
+
+    @Test
+    void repeatedKeyReplaysTheFirstResult() {
+        AtomicInteger calls = new AtomicInteger();
+
+        int first = cache.execute("user-1", "key", "body", calls::incrementAndGet);
+        int second = cache.execute("user-1", "key", "body", calls::incrementAndGet);
+
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isEqualTo(1);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void keysAreScopedPerOwner() {
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.execute("user-1", "key", "body", calls::incrementAndGet);
+        cache.execute("user-2", "key", "body", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void keyReusedWithADifferentBodyIsRejected() {
+        cache.execute("user-1", "key", "body", () -> 1);
+
+        assertThatThrownBy(() -> cache.execute("user-1", "key", "other body", () -> 2))
+                .isInstanceOf(ResourceConflictException.class);
+    }
+
+    @Test
+    void failedCallIsNotStored() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> cache.execute("user-1", "key", "body", () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        int retried = cache.execute("user-1", "key", "body", calls::incrementAndGet);
+
+        assertThat(retried).isEqualTo(2);
+    }
+
+    @Test
+    void expiredResultRunsAgain() {
+        ReflectionTestUtils.setField(cache, "ttlSeconds", -1L);
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.execute("user-1", "key", "body", calls::incrementAndGet);
+        cache.execute("user-1", "key", "body", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void invalidKeysAreRejected() {
+        assertThatThrownBy(() -> cache.execute("user-1", " ", "body", () -> 1))
+                .isInstanceOf(InvalidOperationException.class);
+        assertThatThrownBy(() -> cache.execute("user-1", "k".repeat(256), "body", () -> 1))
+                .isInstanceOf(InvalidOperationException.class);
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheRunningCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<Integer> first = CompletableFuture.supplyAsync(() ->
+                cache.execute("user-1", "key", "body", () -> {
+                    started.countDown();
+                    await(release);
+                    return calls.incrementAndGet();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> duplicate = CompletableFuture.supplyAsync(() ->
+                cache.execute("user-1", "key", "body", calls::incrementAndGet));
+        assertThat(duplicate).isNotDone();
+
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(calls).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.infrastructure.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderNumberGeneratorTest {
+
+    private static final String PREFIX = "VS" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyMMdd"));
+
+    @Test
+    void numbersComeFromTheBlockInOrder() {
+        OrderRepository repository = sequence(new AtomicLong(1000), 100);
+        OrderNumberGenerator generator = new OrderNumberGenerator(repository);
+
+        assertThat(generator.nextOrderNumber()).isEqualTo(PREFIX + "00001000");
+        assertThat(generator.nextOrderNumber()).isEqualTo(PREFIX + "00001001");
+    }
+
+    @Test
+    void databaseIsHitOncePerBlock() {
+        OrderRepository repository = sequence(new AtomicLong(1000), 100);
+        OrderNumberGenerator generator = new OrderNumberGenerator(repository);
+
+        for (int i = 0; i < 100; i++) {
+            generator.nextOrderNumber();
+        }
+        verify(repository, times(1)).nextOrderNumberBlock();
+
+        assertThat(generator.nextOrderNumber()).isEqualTo(PREFIX + "00001100");
+        verify(repository, times(2)).nextOrderNumberBlock();
+        verify(repository, times(1)).orderNumberBlockSize();
+    }
+
+    @Test
+    void nodesSharingTheSequenceNeverCollide() {
+        AtomicLong sequence = new AtomicLong(1000);
+        OrderNumberGenerator first = new OrderNumberGenerator(sequence(sequence, 10));
+        OrderNumberGenerator second = new OrderNumberGenerator(sequence(sequence, 10));
+
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 55; i++) {
+            numbers.add(first.nextOrderNumber());
+            numbers.add(second.nextOrderNumber());
+        }
+
+        assertThat(numbers).hasSize(110);
+    }
+
+    @Test
+    void numbersDoNotOverlapTheRandomFourDigitFormat() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(sequence(new AtomicLong(1000), 100));
+
+        // Older numbers are VS + yyMMdd + 1000..9999
+        assertThat(generator.nextOrderNumber()).hasSize(PREFIX.length() + 8);
+    }
+
+    @Test
+    void nonPositiveIncrementIsRejected() {
+        OrderNumberGenerator generator = new OrderNumberGenerator(sequence(new AtomicLong(1000), 0));
+
+        assertThatThrownBy(generator::nextOrderNumber).isInstanceOf(IllegalStateException.class);
+    }
+
+    private OrderRepository sequence(AtomicLong sequence, long increment) {
+        OrderRepository repository = mock(OrderRepository.class);
+        when(repository.orderNumberBlockSize()).thenReturn(increment);
+        when(repository.nextOrderNumberBlock()).thenAnswer(invocation -> sequence.getAndAdd(increment));
+        return repository;
+    }
+}
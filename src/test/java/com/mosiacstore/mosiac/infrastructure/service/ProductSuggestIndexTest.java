@@ -0,0 +1,101 @@
+package com.mosiacstore.mosiac.infrastructure.service;
+
+import com.mosiacstore.mosiac.application.dto.response.ProductSuggestionResponse;
+import com.mosiacstore.mosiac.domain.product.Product;
+import com.mosiacstore.mosiac.domain.product.ProductCategory;
+import com.mosiacstore.mosiac.infrastructure.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSuggestIndexTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final List<Product> catalog = new ArrayList<>();
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findAllActiveWithCategoryAndRegion()).thenAnswer(invocation -> List.copyOf(catalog));
+        index = new ProductSuggestIndex(productRepository, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void tokensAreFoldedLikeSlugs() {
+        assertThat(ProductSuggestIndex.tokenize("Áo dài Đà Lạt, size-XL")).containsExactly("ao", "dai", "da", "lat", "size", "xl");
+        assertThat(ProductSuggestIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void unaccentedPrefixFindsAccentedName() {
+        Product aoDai = product("Áo dài Huế", "AD-01", null);
+        product("Nón lá", "NL-01", null);
+        index.rebuild();
+
+        assertThat(names(index.suggest("ao d", 10))).containsExactly("Áo dài Huế");
+        assertThat(names(index.suggest("hu", 10))).containsExactly(aoDai.getName());
+        assertThat(index.suggest("ao x", 10)).isEmpty();
+    }
+
+    @Test
+    void nameMatchOutranksCategoryMatch() {
+        ProductCategory shirts = new ProductCategory();
+        shirts.setName("Áo thun");
+        product("Quần jean", "QJ-01", shirts);
+        product("Áo khoác", "AK-01", null);
+        index.rebuild();
+
+        assertThat(names(index.suggest("ao", 10))).containsExactly("Áo khoác", "Quần jean");
+    }
+
+    @Test
+    void reindexDropsDeactivatedProduct() {
+        Product hat = product("Nón lá", "NL-01", null);
+        index.rebuild();
+        assertThat(index.size()).isEqualTo(1);
+
+        when(productRepository.findWithCategoryAndRegionByIdIn(anyCollection())).thenReturn(List.of());
+        index.reindex(hat.getId());
+
+        assertThat(index.size()).isZero();
+        assertThat(index.suggest("non", 10)).isEmpty();
+    }
+
+    @Test
+    void rebuildPicksUpProductsAddedElsewhere() {
+        product("Nón lá", "NL-01", null);
+        index.rebuild();
+        product("Nón bảo hiểm", "NBH-01", null);
+
+        index.rebuild();
+
+        assertThat(names(index.suggest("non", 10))).containsExactlyInAnyOrder("Nón lá", "Nón bảo hiểm");
+    }
+
+    private Product product(String name, String sku, ProductCategory category) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setSlug(sku.toLowerCase());
+        product.setSku(sku);
+        product.setPrice(new BigDecimal("100000"));
+        product.setCategory(category);
+        product.setActive(true);
+        catalog.add(product);
+        return product;
+    }
+
+    private static List<String> names(List<ProductSuggestionResponse> suggestions) {
+        return suggestions.stream().map(ProductSuggestionResponse::getName).toList();
+    }
+}